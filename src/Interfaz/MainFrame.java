@@ -38,10 +38,28 @@ public class MainFrame extends javax.swing.JFrame {
         this.controlador = new Controlador(); 
         this.setSize(950, 450);
         this.setLocationRelativeTo(null); // Para centrar la ventana
+        // Con un tamaño de celda fijo Swing no mide cada autor o palabra al pintar,
+        // asi los modelos paginados no tienen que cargar todos los elementos
+        String prototipo = "XXXXXXXXXXXXXXXXXXXXXXXXXXXXXX";
+        cmbAutores.setPrototypeDisplayValue(prototipo);
+        jList2.setPrototypeCellValue(prototipo);
+        // La lista desplegable del combo no toma el prototipo del combo
+        Object desplegable = cmbAutores.getUI().getAccessibleChild(cmbAutores, 0);
+        if (desplegable instanceof javax.swing.plaf.basic.ComboPopup) {
+            ((javax.swing.plaf.basic.ComboPopup) desplegable).getList().setPrototypeCellValue(prototipo);
+        }
         actualizarListaResumenes();
         actualizarComboAutores();
         actualizarListaPalabrasClave();
         decorarInterfaz();
+        
+        // Al cerrar se guarda lo que quede pendiente del indice de los cuerpos
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                controlador.guardarPendientes();
+            }
+        });
     }
 
     /**
@@ -522,10 +540,10 @@ public class MainFrame extends javax.swing.JFrame {
         
         if (resumen != null) {
             // 3. Generar el análisis (conteo de palabras)
-            String reporte = controlador.analizarResumen(resumen);
+            logica.ResultadoAnalisis analisis = controlador.analizarResumen(resumen);
             
             // 4. Mostrarlo en el área de texto (jTextArea1)
-            jTextArea1.setText(reporte);
+            jTextArea1.setText(formatearAnalisis(analisis));
             // Hacer que el scroll suba al principio del texto
             jTextArea1.setCaretPosition(0); 
         }
@@ -655,57 +673,37 @@ public class MainFrame extends javax.swing.JFrame {
     sb.append("Artículos con la palabra clave '").append(palabraSeleccionada).append("':\n\n");
     
     if (resultados != null && !resultados.estaVacia()) {
+        // Las frecuencias se calcularon al indexar; no se vuelve a analizar el texto
+        int[] frecuencias = controlador.frecuenciasPalabraClave(resultados, palabraSeleccionada);
+        int i = 0;
         for (modelo.Resumen r : resultados) {
-            // Obtener el análisis completo del resumen
-            String analisisCompleto = controlador.analizarResumen(r);
-            int frecuencia = extraerFrecuenciaDelAnalisis(analisisCompleto, palabraSeleccionada);
-            
             sb.append("• ").append(r.getTitulo())
-              .append(" (Frecuencia: ").append(frecuencia).append(")\n");
+              .append(" (Frecuencia: ").append(frecuencias[i++]).append(")\n");
         }
     } else {
         sb.append("No se encontraron artículos con esta palabra clave.");
     }
     
     txtDetallesPalabraClave.setText(sb.toString());
-}
+    }//GEN-LAST:event_btnVerDetallesPCListaActionPerformed
 
-/**
- * Método auxiliar que extrae la frecuencia de una palabra específica dentro de un análisis textual.
- * 
- * <p>Este método busca una línea que contenga la palabra deseada y extrae el número que aparece
- * después de los dos puntos (:), interpretándolo como la frecuencia.</p>
- * 
- * <p>Si la palabra no se encuentra o el formato es incorrecto, se retorna 0.</p>
- *
- * @param analisisCompleto Texto completo del análisis, con líneas separadas por saltos de línea.
- * @param palabraBuscada Palabra clave cuya frecuencia se desea obtener.
- * @return Frecuencia de aparición de la palabra en el análisis, o 0 si no se encuentra.
- */
-private int extraerFrecuenciaDelAnalisis(String analisisCompleto, String palabraBuscada) {
-    // Dividir el análisis en líneas
-    String[] lineas = analisisCompleto.split("\n");
-    
-    // Buscar la línea que corresponde a la palabra que nos interesa
-    for (String linea : lineas) {
-        linea = linea.trim();
-        // La línea debe empezar con la palabra buscada seguida de ":"
-        if (linea.startsWith(palabraBuscada + ":")) {
-            try {
-                // Extraer el número después de los ":"
-                String[] partes = linea.split(":");
-                if (partes.length >= 2) {
-                    return Integer.parseInt(partes[1].trim());
-                }
-            } catch (NumberFormatException e) {
-                // Si hay error al convertir, retornar 0
-                return 0;
-            }
+    /**
+     * Da formato de texto al análisis de un resumen para mostrarlo en pantalla.
+     * 
+     * @param analisis Resultado del análisis de frecuencias
+     * @return Reporte con el título, los autores y la frecuencia de cada palabra clave
+     */
+    private String formatearAnalisis(logica.ResultadoAnalisis analisis) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("--- Analisis de Frecuencia ---\n");
+        sb.append("Nombre del trabajo: ").append(analisis.getTitulo()).append("\n");
+        sb.append("Autores: ").append(String.join(", ", analisis.getAutores())).append("\n");
+        
+        for (int i = 0; i < analisis.cantidadPalabras(); i++) {
+            sb.append(analisis.palabra(i)).append(": ").append(analisis.frecuencia(i)).append("\n");
         }
+        return sb.toString();
     }
-    // Si no se encuentra la palabra en el análisis, frecuencia es 0
-    return 0;
-    }//GEN-LAST:event_btnVerDetallesPCListaActionPerformed
 
     /**
      * Actualiza la lista visual de investigaciones mostradas en la interfaz.
@@ -719,9 +717,9 @@ private int extraerFrecuenciaDelAnalisis(String analisisCompleto, String palabra
         
         // 1. Pedir al controlador la lista de todos los títulos
         // (Asegúrate de que tu Controlador tenga el método obtenerTodosLosTitulos)
-        estructuras.ListaEnlazada<String> listaTitulos = controlador.obtenerTodosLosTitulos();
+        Iterable<String> listaTitulos = controlador.obtenerTodosLosTitulos();
         
-        // 2. Recorrer la lista enlazada y agregar al modelo visual
+        // 2. Recorrer los títulos y agregar al modelo visual
         for (String titulo : listaTitulos) {
             modeloLista.addElement(titulo);
         }
@@ -733,41 +731,39 @@ private int extraerFrecuenciaDelAnalisis(String analisisCompleto, String palabra
     /**
      * Actualiza el combo box de autores con los nombres registrados en el sistema.
      * 
-     * <p>Este método elimina todos los elementos actuales del combo {@code cmbAutores}
-     * y luego agrega los autores obtenidos desde el controlador.</p>
+     * <p>El combo recibe un {@link ModeloPaginado}: los autores se piden al
+     * controlador de a una pagina, solo cuando el combo los muestra, en lugar de
+     * agregarlos todos con un recorrido completo del arbol.</p>
      * 
      * <p>Si no hay autores registrados, el combo queda vacío.</p>
      */
     private void actualizarComboAutores() {
-    cmbAutores.removeAllItems();
-    estructuras.ListaEnlazada<String> autores = controlador.obtenerAutoresRegistrados();
-    
-    if (autores != null && !autores.estaVacia()) {
-        for (String autor : autores) {
-            cmbAutores.addItem(autor);
+    // Total y paginas de la misma version de los autores
+    logica.ListadoOrdenado autores = controlador.listadoAutores();
+    cmbAutores.setModel(new ModeloPaginado(autores.size()) {
+        @Override
+        protected Iterable<String> pagina(int desplazamiento, int limite) {
+            return autores.pagina(desplazamiento, limite);
         }
-    }
+    });
 }
     
     /**
      * Actualiza la lista visual de palabras clave disponibles en el sistema.
      * 
-     * <p>Este método obtiene la lista de palabras clave desde el controlador
-     * y las agrega al modelo visual {@code lista2} para ser mostradas en la interfaz.</p>
+     * <p>Las palabras clave se piden al controlador por paginas con un
+     * {@link ModeloPaginado}, a medida que la lista {@code jList2} las muestra.</p>
      * 
      * <p>Si no hay palabras clave registradas, la lista queda vacía.</p>
      */
     private void actualizarListaPalabrasClave() {
-    javax.swing.DefaultListModel<String> modelo = new javax.swing.DefaultListModel<>();
-    // NUEVO: Usar ListaEnlazada en lugar de java.util.List
-    estructuras.ListaEnlazada<String> palabras = controlador.obtenerPalabrasClaveListadas();
-    
-    if (palabras != null && !palabras.estaVacia()) {
-        for (String p : palabras) {
-            modelo.addElement(p);
+    logica.ListadoOrdenado palabras = controlador.listadoPalabrasClave();
+    jList2.setModel(new ModeloPaginado(palabras.size()) {
+        @Override
+        protected Iterable<String> pagina(int desplazamiento, int limite) {
+            return palabras.pagina(desplazamiento, limite);
         }
-    }
-    jList2.setModel(modelo);
+    });
 }
     
     /**
@@ -0,0 +1,104 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Interfaz;
+
+/**
+ * Modelo de lista y de combo que pide los elementos por paginas.
+ *
+ * <p>Solo guarda la pagina que se esta mostrando; cuando Swing pide un elemento
+ * de otra pagina se le pide esa pagina al origen (por ejemplo
+ * {@link logica.ListadoOrdenado#pagina(int, int)}). Asi llenar el combo o la
+ * lista no recorre todo el arbol.</p>
+ *
+ * <p>La cantidad de elementos se fija al crear el modelo; si los datos cambian
+ * se crea un modelo nuevo.</p>
+ *
+ * @author rafae
+ */
+abstract class ModeloPaginado extends javax.swing.AbstractListModel<String>
+        implements javax.swing.ComboBoxModel<String> {
+    private static final long serialVersionUID = 1L;
+
+    /** Cantidad de elementos que se piden de una vez. */
+    static final int TAMANO_PAGINA = 64;
+
+    private final int total;
+    private final String[] pagina = new String[TAMANO_PAGINA];
+    private int inicioPagina = -1;
+    private int largoPagina;
+    private Object seleccionado;
+    private boolean hayEleccion;
+
+    /**
+     * Crea el modelo. Mientras no se elija nada queda seleccionado el primer
+     * elemento, como hace el combo al agregar items.
+     *
+     * @param total Cantidad de elementos del origen
+     */
+    ModeloPaginado(int total) {
+        this.total = total;
+    }
+
+    /**
+     * Pide una pagina al origen, en orden.
+     *
+     * @param desplazamiento Posicion del primer elemento (desde 0)
+     * @param limite Cantidad maxima de elementos
+     * @return Los elementos de la pagina
+     */
+    protected abstract Iterable<String> pagina(int desplazamiento, int limite);
+
+    @Override
+    public int getSize() {
+        return total;
+    }
+
+    @Override
+    public String getElementAt(int indice) {
+        if (indice < 0 || indice >= total) {
+            return null;
+        }
+        if (inicioPagina < 0 || indice < inicioPagina || indice >= inicioPagina + largoPagina) {
+            cargarPagina(indice - indice % TAMANO_PAGINA);
+        }
+        int i = indice - inicioPagina;
+        return i < largoPagina ? pagina[i] : null;
+    }
+
+    /**
+     * Reemplaza la pagina guardada por la que empieza en la posicion indicada.
+     */
+    private void cargarPagina(int inicio) {
+        int n = 0;
+        for (String elemento : pagina(inicio, TAMANO_PAGINA)) {
+            if (n == TAMANO_PAGINA) {
+                break;
+            }
+            pagina[n++] = elemento;
+        }
+        java.util.Arrays.fill(pagina, n, TAMANO_PAGINA, null);
+        inicioPagina = inicio;
+        largoPagina = n;
+    }
+
+    @Override
+    public void setSelectedItem(Object elemento) {
+        Object anterior = getSelectedItem();
+        seleccionado = elemento;
+        hayEleccion = true;
+        if (elemento == null ? anterior != null : !elemento.equals(anterior)) {
+            fireContentsChanged(this, -1, -1);
+        }
+    }
+
+    @Override
+    public Object getSelectedItem() {
+        if (!hayEleccion && total > 0) {
+            seleccionado = getElementAt(0);
+            hayEleccion = true;
+        }
+        return seleccionado;
+    }
+}
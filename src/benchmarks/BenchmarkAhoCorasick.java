@@ -0,0 +1,102 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import estructuras.AutomataAhoCorasick;
+import java.util.Random;
+
+/**
+ * Conteo de muchas palabras clave sobre un corpus: un ciclo de indexOf por palabra
+ * contra una sola pasada por texto con el autómata de Aho–Corasick.
+ *
+ * @author NITRO
+ */
+public class BenchmarkAhoCorasick {
+
+    private static final int REPETICIONES = 5;
+    private static final int TEXTOS = 2_000;
+    private static final int PALABRAS_TEXTO = 250;
+    private static final int VOCABULARIO = 5_000;
+
+    /**
+     * @param args opcional: lista de cantidades de palabras clave (por defecto 4 16 64 256)
+     */
+    public static void main(String[] args) {
+        Random azar = new Random(11);
+        String[] vocabulario = new String[VOCABULARIO];
+        for (int i = 0; i < VOCABULARIO; i++) vocabulario[i] = palabra(azar);
+
+        String[] textos = new String[TEXTOS];
+        for (int t = 0; t < TEXTOS; t++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < PALABRAS_TEXTO; i++) {
+                sb.append(vocabulario[azar.nextInt(VOCABULARIO)]).append(' ');
+            }
+            textos[t] = sb.toString();
+        }
+
+        int[] cantidades = {4, 16, 64, 256};
+        if (args.length > 0) {
+            cantidades = new int[args.length];
+            for (int i = 0; i < args.length; i++) cantidades[i] = Integer.parseInt(args[i]);
+        }
+
+        System.out.printf("%10s %14s %14s%n", "palabras", "indexOf (ms)", "autómata (ms)");
+        for (int k : cantidades) {
+            String[] claves = new String[k];
+            for (int i = 0; i < k; i++) claves[i] = vocabulario[azar.nextInt(VOCABULARIO)];
+            AutomataAhoCorasick automata = new AutomataAhoCorasick(claves);
+
+            for (int i = 0; i < 3; i++) {
+                medirIndexOf(textos, claves);
+                medirAutomata(textos, automata);
+            }
+            double mejorIndexOf = Double.MAX_VALUE, mejorAutomata = Double.MAX_VALUE;
+            for (int i = 0; i < REPETICIONES; i++) {
+                mejorIndexOf = Math.min(mejorIndexOf, medirIndexOf(textos, claves));
+                mejorAutomata = Math.min(mejorAutomata, medirAutomata(textos, automata));
+            }
+            System.out.printf("%10d %14.1f %14.1f%n", k, mejorIndexOf, mejorAutomata);
+        }
+    }
+
+    private static String palabra(Random azar) {
+        char[] letras = new char[3 + azar.nextInt(8)];
+        for (int i = 0; i < letras.length; i++) letras[i] = (char) ('a' + azar.nextInt(26));
+        return new String(letras);
+    }
+
+    private static double medirIndexOf(String[] textos, String[] claves) {
+        long suma = 0;
+        long t0 = System.nanoTime();
+        for (String texto : textos) {
+            for (String clave : claves) {
+                int indice = 0;
+                while ((indice = texto.indexOf(clave, indice)) != -1) {
+                    suma++;
+                    indice += clave.length();
+                }
+            }
+        }
+        return control(suma, System.nanoTime() - t0);
+    }
+
+    private static double medirAutomata(String[] textos, AutomataAhoCorasick automata) {
+        int[] conteos = new int[automata.size()];
+        int[] porPatron = new int[automata.patronesDistintos()];
+        int[] ultimoFin = new int[automata.patronesDistintos()];
+        long t0 = System.nanoTime();
+        for (String texto : textos) automata.acumular(texto, conteos, porPatron, ultimoFin);
+        long suma = 0;
+        for (int c : conteos) suma += c;
+        return control(suma, System.nanoTime() - t0);
+    }
+
+    private static double control(long suma, long nanos) {
+        // El control evita que el JIT descarte los conteos
+        if (suma == Long.MIN_VALUE) System.out.println();
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import estructuras.ArbolAVL;
+import estructuras.ListaPostings;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Compara la carga inicial de un árbol AVL insertando clave por clave contra
+ * la construcción masiva a partir de claves ordenadas.
+ *
+ * @author NITRO
+ */
+public class BenchmarkArbolAVL {
+
+    private static final int REPETICIONES = 5;
+
+    /**
+     * @param args opcional: cantidad de pares (clave, documento) (por defecto 1.000.000)
+     */
+    public static void main(String[] args) {
+        int pares = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int distintas = Math.max(1, pares / 8);
+        Random azar = new Random(42);
+        String[] terminos = new String[distintas];
+        for (int i = 0; i < distintas; i++) terminos[i] = "termino " + azar.nextInt(Integer.MAX_VALUE) + " " + i;
+
+        // Pares en el orden en que llegan de la base de datos: documentos crecientes, términos al azar
+        String[] claves = new String[pares];
+        int[] documentos = new int[pares];
+        for (int i = 0; i < pares; i++) {
+            claves[i] = terminos[azar.nextInt(distintas)];
+            documentos[i] = i / 4;
+        }
+
+        for (int i = 0; i < 3; i++) {
+            cargarUnoAUno(claves, documentos);
+            cargarEnBloque(claves, documentos);
+        }
+        System.out.printf("%-12s %12s%n", "modo", "tiempo (ms)");
+        for (int i = 0; i < REPETICIONES; i++) {
+            long t0 = System.nanoTime();
+            cargarUnoAUno(claves, documentos);
+            long t1 = System.nanoTime();
+            cargarEnBloque(claves, documentos);
+            long t2 = System.nanoTime();
+            System.out.printf("%-12s %12.1f%n", "uno a uno", (t1 - t0) / 1e6);
+            System.out.printf("%-12s %12.1f%n", "en bloque", (t2 - t1) / 1e6);
+        }
+    }
+
+    private static ArbolAVL<String> cargarUnoAUno(String[] claves, int[] documentos) {
+        ArbolAVL<String> arbol = new ArbolAVL<>();
+        for (int i = 0; i < claves.length; i++) arbol.insertar(claves[i], documentos[i]);
+        return arbol;
+    }
+
+    /**
+     * Agrupa los documentos de cada clave (como hace el Controlador con el diccionario
+     * de términos), ordena solo las claves distintas y construye el árbol balanceado.
+     */
+    private static ArbolAVL<String> cargarEnBloque(String[] claves, int[] documentos) {
+        HashMap<String, ListaPostings> grupos = new HashMap<>();
+        for (int i = 0; i < claves.length; i++) {
+            grupos.computeIfAbsent(claves[i], c -> new ListaPostings()).agregar(documentos[i]);
+        }
+        String[] unicas = grupos.keySet().toArray(new String[0]);
+        Arrays.sort(unicas);
+        ListaPostings[] listas = new ListaPostings[unicas.length];
+        for (int i = 0; i < unicas.length; i++) listas[i] = grupos.get(unicas[i]);
+
+        ArbolAVL<String> arbol = new ArbolAVL<>();
+        arbol.construir(unicas, listas, unicas.length);
+        return arbol;
+    }
+}
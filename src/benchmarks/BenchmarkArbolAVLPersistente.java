@@ -0,0 +1,91 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import estructuras.ArbolAVL;
+import estructuras.ArbolAVLPersistente;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Búsquedas por segundo mientras un escritor sigue indexando: árbol persistente
+ * (lecturas sin candados) contra el árbol mutable protegido por un único candado.
+ *
+ * @author NITRO
+ */
+public class BenchmarkArbolAVLPersistente {
+
+    private static final int CLAVES = 100_000;
+    private static final long DURACION_MS = 1_000;
+
+    /**
+     * @param args no se usan
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String[] claves = new String[CLAVES];
+        for (int i = 0; i < CLAVES; i++) claves[i] = "autor " + i;
+
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        System.out.println("Núcleos disponibles: " + nucleos);
+        System.out.printf("%-12s %8s %16s %16s%n", "árbol", "lectores", "lecturas/s", "escrituras/s");
+        for (int lectores : new int[]{1, 2, 4, Math.max(8, nucleos)}) {
+            ArbolAVLPersistente<String> persistente = new ArbolAVLPersistente<>();
+            medir("persistente", lectores, claves,
+                    i -> persistente.insertar(claves[i], i),
+                    i -> persistente.obtenerDocumentos(claves[i]).size());
+
+            ArbolAVL<String> mutable = new ArbolAVL<>();
+            Object candado = new Object();
+            medir("un candado", lectores, claves,
+                    i -> { synchronized (candado) { mutable.insertar(claves[i], i); } },
+                    i -> { synchronized (candado) { mutable.obtenerDocumentos(claves[i]).size(); } });
+        }
+    }
+
+    private static void medir(String nombre, int lectores, String[] claves, IntConsumer escribir, IntConsumer leer)
+            throws InterruptedException {
+        for (int i = 0; i < claves.length; i += 2) escribir.accept(i);
+
+        LongAdder lecturas = new LongAdder();
+        LongAdder escrituras = new LongAdder();
+        AtomicBoolean detener = new AtomicBoolean(false);
+        CountDownLatch listos = new CountDownLatch(lectores + 1);
+        Thread[] hilos = new Thread[lectores + 1];
+        hilos[0] = new Thread(() -> {
+            ThreadLocalRandom azar = ThreadLocalRandom.current();
+            long locales = 0;
+            listos.countDown();
+            while (!detener.get()) {
+                escribir.accept(azar.nextInt(claves.length));
+                locales++;
+            }
+            escrituras.add(locales);
+        });
+        for (int t = 1; t <= lectores; t++) {
+            hilos[t] = new Thread(() -> {
+                ThreadLocalRandom azar = ThreadLocalRandom.current();
+                long locales = 0;
+                listos.countDown();
+                while (!detener.get()) {
+                    leer.accept(azar.nextInt(claves.length));
+                    locales++;
+                }
+                lecturas.add(locales);
+            });
+        }
+        for (Thread h : hilos) h.start();
+        listos.await();
+        Thread.sleep(DURACION_MS);
+        detener.set(true);
+        for (Thread h : hilos) h.join();
+
+        double segundos = DURACION_MS / 1000.0;
+        System.out.printf("%-12s %8d %16.0f %16.0f%n", nombre, lectores,
+                lecturas.sum() / segundos, escrituras.sum() / segundos);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import estructuras.HashTable;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Compara la tabla de dispersión del proyecto contra {@link java.util.HashMap}
+ * con claves tipo título, y muestra el histograma de distancias de sondeo.
+ *
+ * @author NITRO
+ */
+public class BenchmarkHashTable {
+
+    private static final int REPETICIONES = 5;
+
+    /**
+     * @param args opcional: cantidad de claves (por defecto 1.000.000)
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] claves = new String[n];
+        String[] ausentes = new String[n];
+        for (int i = 0; i < n; i++) {
+            claves[i] = "Titulo de investigacion " + i;
+            ausentes[i] = "Titulo ausente " + i;
+        }
+
+        // Calentamiento
+        for (int i = 0; i < 3; i++) {
+            medirHashTable(claves, ausentes, false);
+            medirHashMap(claves, ausentes, false);
+        }
+
+        System.out.printf("%-12s %12s %12s %12s %12s%n", "estructura", "put (ns)", "get (ns)", "fallo (ns)", "remove (ns)");
+        for (int i = 0; i < REPETICIONES; i++) {
+            medirHashTable(claves, ausentes, true);
+            medirHashMap(claves, ausentes, true);
+        }
+
+        HashTable<String, Integer> tabla = new HashTable<>();
+        for (int i = 0; i < n; i++) tabla.put(claves[i], i);
+        System.out.println();
+        System.out.println("Histograma de distancias de sondeo (capacidad " + tabla.capacidad() + "):");
+        int[] histograma = tabla.histogramaSondeo();
+        for (int d = 0; d < histograma.length; d++) {
+            System.out.printf("  %2d: %d%n", d, histograma[d]);
+        }
+
+        System.out.println();
+        System.out.println("Latencia de put durante la carga (redimensionamiento completo vs incremental):");
+        System.out.printf("%-12s %12s %12s %12s %12s%n", "modo", "p99.9 (us)", "p99.99 (us)", "max (us)", "> 1 ms");
+        for (int i = 0; i < REPETICIONES; i++) {
+            medirLatenciaPut(claves, false);
+            medirLatenciaPut(claves, true);
+        }
+    }
+
+    /**
+     * Mide la latencia individual de cada put al llenar una tabla vacía.
+     * Las pausas del recolector de basura también aparecen en los máximos de ambos modos.
+     */
+    private static void medirLatenciaPut(String[] claves, boolean incremental) {
+        int n = claves.length;
+        long[] latencias = new long[n];
+        Integer[] valores = new Integer[n];
+        for (int i = 0; i < n; i++) valores[i] = i;
+        HashTable<String, Integer> tabla = new HashTable<>(16, incremental);
+        int lentas = 0;
+        for (int i = 0; i < n; i++) {
+            long t0 = System.nanoTime();
+            tabla.put(claves[i], valores[i]);
+            latencias[i] = System.nanoTime() - t0;
+            if (latencias[i] > 1_000_000) lentas++;
+        }
+        Arrays.sort(latencias);
+        System.out.printf("%-12s %12.1f %12.1f %12.1f %12d%n", incremental ? "incremental" : "completo",
+                latencias[(int) (n * 0.999)] / 1000.0, latencias[(int) (n * 0.9999)] / 1000.0, latencias[n - 1] / 1000.0, lentas);
+    }
+
+    private static void medirHashTable(String[] claves, String[] ausentes, boolean imprimir) {
+        int n = claves.length;
+        HashTable<String, Integer> tabla = new HashTable<>();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < n; i++) tabla.put(claves[i], i);
+        long t1 = System.nanoTime();
+        long suma = 0;
+        for (int i = 0; i < n; i++) suma += tabla.get(claves[i]);
+        long t2 = System.nanoTime();
+        for (int i = 0; i < n; i++) if (tabla.get(ausentes[i]) != null) suma++;
+        long t3 = System.nanoTime();
+        for (int i = 0; i < n; i++) tabla.remove(claves[i]);
+        long t4 = System.nanoTime();
+        if (imprimir) imprimir("HashTable", n, t0, t1, t2, t3, t4, suma);
+    }
+
+    private static void medirHashMap(String[] claves, String[] ausentes, boolean imprimir) {
+        int n = claves.length;
+        HashMap<String, Integer> mapa = new HashMap<>();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < n; i++) mapa.put(claves[i], i);
+        long t1 = System.nanoTime();
+        long suma = 0;
+        for (int i = 0; i < n; i++) suma += mapa.get(claves[i]);
+        long t2 = System.nanoTime();
+        for (int i = 0; i < n; i++) if (mapa.get(ausentes[i]) != null) suma++;
+        long t3 = System.nanoTime();
+        for (int i = 0; i < n; i++) mapa.remove(claves[i]);
+        long t4 = System.nanoTime();
+        if (imprimir) imprimir("HashMap", n, t0, t1, t2, t3, t4, suma);
+    }
+
+    private static void imprimir(String nombre, int n, long t0, long t1, long t2, long t3, long t4, long control) {
+        // El control evita que el JIT descarte las búsquedas
+        if (control == Long.MIN_VALUE) System.out.println();
+        System.out.printf("%-12s %12.1f %12.1f %12.1f %12.1f%n", nombre,
+                (t1 - t0) / (double) n, (t2 - t1) / (double) n, (t3 - t2) / (double) n, (t4 - t3) / (double) n);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import estructuras.HashTable;
+import estructuras.HashTableConcurrente;
+import estructuras.ListaEnlazada;
+import estructuras.Tabla;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Throughput de la tabla concurrente con varios hilos y distintas proporciones
+ * de lecturas y escrituras, comparado con la tabla secuencial protegida por un
+ * único candado.
+ *
+ * @author NITRO
+ */
+public class BenchmarkHashTableConcurrente {
+
+    private static final int CLAVES = 200_000;
+    private static final long DURACION_MS = 1_000;
+
+    /**
+     * @param args no se usan
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String[] claves = new String[CLAVES];
+        for (int i = 0; i < CLAVES; i++) claves[i] = "Titulo de investigacion " + i;
+
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        int[] hilos = {1, 2, 4, Math.max(8, nucleos)};
+        int[] porcentajesLectura = {100, 90, 50};
+
+        System.out.println("Núcleos disponibles: " + nucleos);
+        System.out.printf("%-14s %6s %9s %16s%n", "tabla", "hilos", "lecturas", "ops/s");
+        for (int lectura : porcentajesLectura) {
+            for (int h : hilos) {
+                medir("concurrente", new HashTableConcurrente<>(), claves, h, lectura);
+                medir("un candado", new TablaSincronizada<>(new HashTable<>()), claves, h, lectura);
+            }
+        }
+    }
+
+    private static void medir(String nombre, Tabla<String, Integer> tabla, String[] claves, int hilos, int porcentajeLectura)
+            throws InterruptedException {
+        for (int i = 0; i < claves.length; i += 2) tabla.put(claves[i], i);
+
+        LongAdder operaciones = new LongAdder();
+        AtomicBoolean detener = new AtomicBoolean(false);
+        CountDownLatch listos = new CountDownLatch(hilos);
+        Thread[] trabajadores = new Thread[hilos];
+        for (int t = 0; t < hilos; t++) {
+            trabajadores[t] = new Thread(() -> {
+                ThreadLocalRandom azar = ThreadLocalRandom.current();
+                long locales = 0;
+                listos.countDown();
+                while (!detener.get()) {
+                    for (int k = 0; k < 256; k++) {
+                        int i = azar.nextInt(claves.length);
+                        if (azar.nextInt(100) < porcentajeLectura) {
+                            tabla.get(claves[i]);
+                        } else if ((i & 1) == 0) {
+                            tabla.put(claves[i], i);
+                        } else {
+                            tabla.remove(claves[i]);
+                        }
+                    }
+                    locales += 256;
+                }
+                operaciones.add(locales);
+            });
+            trabajadores[t].start();
+        }
+        listos.await();
+        Thread.sleep(DURACION_MS);
+        detener.set(true);
+        for (Thread t : trabajadores) t.join();
+
+        System.out.printf("%-14s %6d %8d%% %16.0f%n", nombre, hilos, porcentajeLectura,
+                operaciones.sum() / (DURACION_MS / 1000.0));
+    }
+
+    /**
+     * Referencia: la tabla secuencial con todas las operaciones bajo un mismo candado.
+     */
+    private static class TablaSincronizada<K, V> implements Tabla<K, V> {
+        private final HashTable<K, V> tabla;
+
+        TablaSincronizada(HashTable<K, V> tabla) {
+            this.tabla = tabla;
+        }
+
+        @Override public synchronized void put(K clave, V valor) { tabla.put(clave, valor); }
+        @Override public synchronized V get(K clave) { return tabla.get(clave); }
+        @Override public synchronized boolean contieneClave(K clave) { return tabla.contieneClave(clave); }
+        @Override public synchronized boolean remove(K clave) { return tabla.remove(clave); }
+        @Override public synchronized int size() { return tabla.size(); }
+        @Override public synchronized ListaEnlazada<K> claves() { return tabla.claves(); }
+        @Override public Iterable<K> vistaClaves() { return tabla.vistaClaves(); }
+        @Override public Iterable<V> vistaValores() { return tabla.vistaValores(); }
+        @Override public Iterable<Par<K, V>> vistaEntradas() { return tabla.vistaEntradas(); }
+        @Override public synchronized void forEach(BiConsumer<? super K, ? super V> accion) { tabla.forEach(accion); }
+        @Override public Spliterator<V> spliteratorValores() { return tabla.spliteratorValores(); }
+        @Override public Stream<K> streamClaves(boolean paralelo) { return tabla.streamClaves(paralelo); }
+    }
+}
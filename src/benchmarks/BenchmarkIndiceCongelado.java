@@ -0,0 +1,78 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import estructuras.ArbolAVL;
+import estructuras.ClaveColacion;
+import estructuras.IndiceCongelado;
+import java.util.Random;
+
+/**
+ * Latencia de búsqueda en el árbol AVL vivo contra su versión congelada
+ * (claves en disposición de Eytzinger y documentos contiguos).
+ *
+ * @author NITRO
+ */
+public class BenchmarkIndiceCongelado {
+
+    private static final int REPETICIONES = 5;
+    private static final int BUSQUEDAS = 2_000_000;
+
+    /**
+     * @param args opcional: cantidad de claves (por defecto 200.000)
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Random azar = new Random(7);
+
+        ArbolAVL<ClaveColacion> arbol = new ArbolAVL<>(ClaveColacion::empiezaCon);
+        ClaveColacion[] claves = new ClaveColacion[n];
+        for (int i = 0; i < n; i++) {
+            claves[i] = ClaveColacion.de("Autor " + azar.nextInt(Integer.MAX_VALUE) + " " + i);
+            for (int d = 0, docs = 1 + azar.nextInt(8); d < docs; d++) {
+                arbol.insertar(claves[i], azar.nextInt(1_000_000));
+            }
+        }
+        long t0 = System.nanoTime();
+        IndiceCongelado<ClaveColacion> congelado = arbol.congelar();
+        System.out.printf("Congelar %d claves: %.1f ms%n", n, (System.nanoTime() - t0) / 1e6);
+
+        // Las consultas se sacan de un orden aleatorio fijo para no favorecer al caché
+        int[] consultas = new int[BUSQUEDAS];
+        for (int i = 0; i < BUSQUEDAS; i++) consultas[i] = azar.nextInt(n);
+
+        for (int i = 0; i < 3; i++) {
+            medirArbol(arbol, claves, consultas);
+            medirCongelado(congelado, claves, consultas);
+        }
+        System.out.printf("%-12s %14s%n", "índice", "búsqueda (ns)");
+        for (int i = 0; i < REPETICIONES; i++) {
+            System.out.printf("%-12s %14.1f%n", "árbol vivo", medirArbol(arbol, claves, consultas));
+            System.out.printf("%-12s %14.1f%n", "congelado", medirCongelado(congelado, claves, consultas));
+        }
+    }
+
+    private static double medirArbol(ArbolAVL<ClaveColacion> arbol, ClaveColacion[] claves, int[] consultas) {
+        long suma = 0;
+        long t0 = System.nanoTime();
+        for (int c : consultas) suma += arbol.obtenerDocumentos(claves[c]).size();
+        long t1 = System.nanoTime();
+        return control(suma, t1 - t0, consultas.length);
+    }
+
+    private static double medirCongelado(IndiceCongelado<ClaveColacion> congelado, ClaveColacion[] claves, int[] consultas) {
+        long suma = 0;
+        long t0 = System.nanoTime();
+        for (int c : consultas) suma += congelado.frecuencia(claves[c]);
+        long t1 = System.nanoTime();
+        return control(suma, t1 - t0, consultas.length);
+    }
+
+    private static double control(long suma, long nanos, int operaciones) {
+        // El control evita que el JIT descarte las búsquedas
+        if (suma == Long.MIN_VALUE) System.out.println();
+        return nanos / (double) operaciones;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import estructuras.ListaEnlazada;
+
+/**
+ * Mide el rendimiento de inserción al final de la lista enlazada.
+ * Compara la versión anterior (recorrido desde la cabeza en cada inserción)
+ * contra la versión con referencia a la cola y contra la carga masiva.
+ *
+ * @author NITRO
+ */
+public class BenchmarkListaEnlazada {
+
+    /** Por encima de este tamaño la versión anterior (O(n²)) no es práctica. */
+    private static final int LIMITE_VERSION_ANTERIOR = 100_000;
+
+    /**
+     * Réplica mínima de la lista original, que recorre toda la lista en cada inserción.
+     */
+    private static class ListaSinCola {
+        private static class NodoSimple {
+            Integer dato;
+            NodoSimple siguiente;
+            NodoSimple(Integer dato) { this.dato = dato; }
+        }
+        private NodoSimple head;
+        private int size;
+
+        void agregar(Integer elemento) {
+            NodoSimple nuevo = new NodoSimple(elemento);
+            if (head == null) {
+                head = nuevo;
+            } else {
+                NodoSimple actual = head;
+                while (actual.siguiente != null) actual = actual.siguiente;
+                actual.siguiente = nuevo;
+            }
+            size++;
+        }
+    }
+
+    /**
+     * @param args no se usan
+     */
+    public static void main(String[] args) {
+        // Calentamiento para que el JIT compile los métodos medidos
+        for (int i = 0; i < 5; i++) {
+            medirConCola(100_000);
+            medirSinCola(2_000);
+        }
+
+        System.out.printf("%-10s %18s %18s %18s%n", "n", "anterior (op/s)", "con cola (op/s)", "agregarTodos (op/s)");
+        for (int n = 1_000; n <= 1_000_000; n *= 10) {
+            String anterior = n <= LIMITE_VERSION_ANTERIOR
+                    ? String.format("%.0f", throughput(n, medirSinCola(n)))
+                    : "omitido";
+            double conCola = throughput(n, medirConCola(n));
+            double masivo = throughput(n, medirAgregarTodos(n));
+            System.out.printf("%-10d %18s %18.0f %18.0f%n", n, anterior, conCola, masivo);
+        }
+    }
+
+    private static double throughput(int n, long nanos) {
+        return n / (nanos / 1e9);
+    }
+
+    private static long medirSinCola(int n) {
+        long inicio = System.nanoTime();
+        ListaSinCola lista = new ListaSinCola();
+        for (int i = 0; i < n; i++) lista.agregar(i);
+        long fin = System.nanoTime();
+        if (lista.size != n) throw new IllegalStateException();
+        return fin - inicio;
+    }
+
+    private static long medirConCola(int n) {
+        long inicio = System.nanoTime();
+        ListaEnlazada<Integer> lista = new ListaEnlazada<>();
+        for (int i = 0; i < n; i++) lista.agregar(i);
+        long fin = System.nanoTime();
+        if (lista.size() != n) throw new IllegalStateException();
+        return fin - inicio;
+    }
+
+    private static long medirAgregarTodos(int n) {
+        ListaEnlazada<Integer> origen = new ListaEnlazada<>();
+        for (int i = 0; i < n; i++) origen.agregar(i);
+        long inicio = System.nanoTime();
+        ListaEnlazada<Integer> lista = new ListaEnlazada<>();
+        lista.agregarTodos(origen);
+        long fin = System.nanoTime();
+        if (lista.size() != n) throw new IllegalStateException();
+        return fin - inicio;
+    }
+}
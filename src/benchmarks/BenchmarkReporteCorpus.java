@@ -0,0 +1,75 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import logica.Analizador;
+import logica.ReporteCorpus;
+import modelo.Resumen;
+
+/**
+ * Tiempo del reporte de frecuencias de todo el corpus según la cantidad de hilos
+ * del pool de fork/join.
+ *
+ * @author NITRO
+ */
+public class BenchmarkReporteCorpus {
+
+    private static final int REPETICIONES = 5;
+    private static final int PALABRAS_CUERPO = 300;
+
+    /**
+     * @param args opcional: cantidad de resúmenes (por defecto 20.000) y de palabras clave (por defecto 500)
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int cantidadClaves = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        Random azar = new Random(5);
+
+        String[] vocabulario = new String[5_000];
+        for (int i = 0; i < vocabulario.length; i++) vocabulario[i] = palabra(azar);
+        String[] claves = new String[cantidadClaves];
+        for (int i = 0; i < cantidadClaves; i++) claves[i] = vocabulario[azar.nextInt(vocabulario.length)];
+
+        Resumen[] resumenes = new Resumen[n];
+        for (int i = 0; i < n; i++) {
+            StringBuilder cuerpo = new StringBuilder();
+            for (int j = 0; j < PALABRAS_CUERPO; j++) {
+                cuerpo.append(vocabulario[azar.nextInt(vocabulario.length)]).append(j % 12 == 11 ? ". " : " ");
+            }
+            resumenes[i] = new Resumen("Resumen " + i, new String[]{"Autor"}, cuerpo.toString(), new String[0]);
+        }
+
+        Analizador analizador = new Analizador();
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        System.out.println("Núcleos disponibles: " + nucleos);
+        System.out.printf("%6s %12s %10s%n", "hilos", "tiempo (ms)", "aceleración");
+        double base = 0;
+        for (int hilos = 1; hilos <= Math.max(nucleos, 1); hilos *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(hilos);
+            for (int i = 0; i < 2; i++) analizador.analizarCorpus(resumenes, claves, pool);
+            double mejor = Double.MAX_VALUE;
+            long control = 0;
+            for (int i = 0; i < REPETICIONES; i++) {
+                long t0 = System.nanoTime();
+                ReporteCorpus reporte = analizador.analizarCorpus(resumenes, claves, pool);
+                mejor = Math.min(mejor, (System.nanoTime() - t0) / 1e6);
+                control += reporte.frecuenciaGlobal(0);
+            }
+            pool.shutdown();
+            // El control evita que el JIT descarte los reportes
+            if (control == Long.MIN_VALUE) System.out.println();
+            if (hilos == 1) base = mejor;
+            System.out.printf("%6d %12.1f %9.2fx%n", hilos, mejor, base / mejor);
+        }
+    }
+
+    private static String palabra(Random azar) {
+        char[] letras = new char[3 + azar.nextInt(8)];
+        for (int i = 0; i < letras.length; i++) letras[i] = (char) ('a' + azar.nextInt(26));
+        return new String(letras);
+    }
+}
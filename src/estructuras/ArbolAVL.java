@@ -5,130 +5,510 @@
 package estructuras;
 
 import java.text.Collator;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Locale;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 
 /**
  * Árbol AVL para indexear autores o palabras clave.
- * Cada nodo guarda un conjunto de títulos de investigaciones asociadas.
+ * Cada nodo guarda la lista comprimida de ids de las investigaciones asociadas.
  * @param <T> tipo de clave (ejemplo String para autores o palabras clave)
  * @author NITRO
  */
 public class ArbolAVL<T extends Comparable<T>> {
     
+    /**
+     * Altura máxima del camino guardado al insertar. Un AVL de altura h tiene al menos
+     * F(h+2)-1 nodos (Fibonacci), así que con 64 niveles cabe cualquier cantidad de claves.
+     */
+    static final int ALTURA_MAXIMA = 64;
+    
     /** Nodo raíz del árbol AVL. */
     private NodoAVL<T> raiz;
     
+    /** Camino de la raíz al punto de inserción; se reutiliza entre inserciones. */
+    private final NodoAVL<T>[] camino;
+    
+    /** Indica si una clave (primer argumento) empieza con un prefijo (segundo argumento). */
+    private final BiPredicate<? super T, ? super T> empiezaCon;
+    
+    /**
+     * Crea un árbol cuyo prefijo se compara con {@code toString().startsWith}.
+     */
+    public ArbolAVL() {
+        this((clave, prefijo) -> clave.toString().startsWith(prefijo.toString()));
+    }
+    
+    /**
+     * Crea un árbol con una prueba de prefijo propia para {@link #prefijo(Comparable)}.
+     * Las claves que empiezan con un prefijo deben ser mayores o iguales que él y
+     * quedar contiguas en el orden del árbol.
+     * 
+     * @param empiezaCon recibe la clave y el prefijo; true si la clave empieza con él
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ArbolAVL(BiPredicate<? super T, ? super T> empiezaCon) {
+        this.camino = (NodoAVL<T>[]) new NodoAVL[ALTURA_MAXIMA];
+        this.empiezaCon = empiezaCon;
+    }
+    
+    /**
+     * Vista de solo lectura de un nodo: una clave y sus documentos.
+     * 
+     * @param <T> tipo de clave
+     */
+    public interface Entrada<T> {
+        /**
+         * @return la clave del nodo
+         */
+        T getClave();
+        
+        /**
+         * @return los ids de los documentos asociados a la clave (la lista del árbol, sin copiar)
+         */
+        ListaPostings getDocumentos();
+    }
+    
     /**
      * Nodo interno del árbol AVL.
-     * Contiene una clave, un conjunto de títulos asociados, referencias a hijos izquierdo y derecho,
+     * Contiene una clave, la lista de documentos asociados, referencias a hijos izquierdo y derecho,
      * y la altura del nodo para mantener el balance del árbol.
      * 
      * @param <T> tipo de clave almacenada en el nodo (debe ser comparable)
      */
-    private static class NodoAVL<T> {
+    private static class NodoAVL<T> implements NodoOrdenado<T, NodoAVL<T>> {
         
         T clave; // Clave del nodo (por ejemplo, autor o palabra clave).
-        ListaEnlazada<String> titulos; // índice de investigaciones asociadas.
+        ListaPostings documentos; // ids de las investigaciones asociadas, ordenados y comprimidos.
         NodoAVL<T> izquierdo, derecho; // Referencia al hijo izquierdo y derecho del nodo.
         int altura; // Altura del nodo dentro del árbol AVL.
+        int tamano; // Cantidad de nodos del subárbol (para rank, select y paginación).
 
         /**
-         * Constructor que inicializa un nodo con una clave y un título asociado.
-         * Se crea un conjunto de títulos y se establece la altura inicial en 1.
+         * Constructor que inicializa un nodo con una clave y un documento asociado.
+         * Se crea la lista de documentos y se establece la altura inicial en 1.
          * 
          * @param clave la clave que se desea indexear
-         * @param titulo el título de investigación asociado a la clave
+         * @param documento el id de la investigación asociada a la clave
          */
-        NodoAVL(T clave, String titulo) {
+        NodoAVL(T clave, int documento) {
             this.clave = clave;
-            this.titulos = new ListaEnlazada<>();
-            this.titulos.agregar(titulo);
+            this.documentos = new ListaPostings();
+            this.documentos.agregar(documento);
             this.altura = 1;
+            this.tamano = 1;
+        }
+        
+        /**
+         * Constructor usado por la carga masiva: el nodo toma la lista ya armada.
+         * 
+         * @param clave la clave que se desea indexear
+         * @param documentos ids de las investigaciones asociadas
+         */
+        NodoAVL(T clave, ListaPostings documentos, NodoAVL<T> izquierdo, NodoAVL<T> derecho) {
+            this.clave = clave;
+            this.documentos = documentos;
+            this.izquierdo = izquierdo;
+            this.derecho = derecho;
+            this.altura = 1 + Math.max(izquierdo == null ? 0 : izquierdo.altura, derecho == null ? 0 : derecho.altura);
+            this.tamano = 1 + (izquierdo == null ? 0 : izquierdo.tamano) + (derecho == null ? 0 : derecho.tamano);
+        }
+        
+        @Override
+        public T getClave() {
+            return clave;
+        }
+        
+        @Override
+        public ListaPostings getDocumentos() {
+            return documentos;
+        }
+        
+        @Override
+        public NodoAVL<T> hijoIzquierdo() {
+            return izquierdo;
+        }
+        
+        @Override
+        public NodoAVL<T> hijoDerecho() {
+            return derecho;
+        }
+        
+        @Override
+        public int tamanoSubarbol() {
+            return tamano;
         }
     }
     
     // --- Métodos públicos ---
     
     /**
-     * Inserta una clave con el título asociado.
+     * Inserta una clave con el id del documento asociado.
+     * Es iterativa: baja guardando el camino y luego sube rebalanceando, y se detiene
+     * en cuanto un nodo conserva su altura (los ancestros ya no cambian).
      * @param clave
-     * @param titulo
+     * @param documento
+     */
+    public void insertar(T clave, int documento) {
+        if (raiz == null) {
+            raiz = new NodoAVL<>(clave, documento);
+            return;
+        }
+        
+        // 1. Bajar hasta la posición de la clave guardando el camino
+        int profundidad = 0;
+        NodoAVL<T> nodo = raiz;
+        while (nodo != null) {
+            int cmp = clave.compareTo(nodo.clave);
+            if (cmp == 0) {
+                nodo.documentos.agregar(documento); // clave ya existe, solo agregamos el documento
+                Arrays.fill(camino, 0, profundidad, null);
+                return;
+            }
+            camino[profundidad++] = nodo;
+            nodo = cmp < 0 ? nodo.izquierdo : nodo.derecho;
+        }
+        
+        // 2. Colgar el nodo nuevo del último nodo del camino
+        NodoAVL<T> padre = camino[profundidad - 1];
+        if (clave.compareTo(padre.clave) < 0) {
+            padre.izquierdo = new NodoAVL<>(clave, documento);
+        } else {
+            padre.derecho = new NodoAVL<>(clave, documento);
+        }
+        
+        // 3. Todos los ancestros ganan un nodo, aunque el rebalanceo se detenga antes
+        for (int i = 0; i < profundidad; i++) {
+            camino[i].tamano++;
+        }
+        
+        // 4. Subir actualizando alturas y rebalanceando
+        for (int i = profundidad - 1; i >= 0; i--) {
+            NodoAVL<T> actual = camino[i];
+            int alturaAnterior = actual.altura;
+            actualizarAltura(actual);
+            NodoAVL<T> subarbol = balancear(actual);
+            if (subarbol != actual) {
+                // Tras una rotación en una inserción el subárbol recupera su altura anterior
+                reemplazarHijo(i == 0 ? null : camino[i - 1], actual, subarbol);
+                break;
+            }
+            if (actual.altura == alturaAnterior) break;
+        }
+        Arrays.fill(camino, 0, profundidad, null);
+    }
+    
+    /**
+     * Construye el árbol de una vez a partir de claves ordenadas, en O(n) y sin rotaciones.
+     * Cada posición del medio se vuelve raíz de su rango, así el árbol queda perfectamente
+     * balanceado. Reemplaza el contenido anterior del árbol; los nodos se quedan con las
+     * listas recibidas, sin copiarlas.
+     * 
+     * @param claves claves en orden estrictamente creciente
+     * @param documentos lista de ids de cada clave (misma posición)
+     * @param n cantidad de claves a usar desde el inicio de los arreglos
+     * @throws IllegalArgumentException si las claves no están ordenadas o están repetidas
+     */
+    public void construir(T[] claves, ListaPostings[] documentos, int n) {
+        raiz = NodoOrdenado.construir(claves, documentos, n, NodoAVL::new);
+    }
+    
+    /**
+     * Quita un documento de la lista de una clave. Si la lista queda vacía se elimina
+     * el nodo, así el árbol nunca guarda claves sin documentos.
+     * 
+     * @param clave clave a la que pertenece el documento
+     * @param documento id del documento
+     * @return true si el documento estaba asociado a la clave
+     */
+    public boolean eliminarDocumento(T clave, int documento) {
+        NodoAVL<T> nodo = buscar(clave);
+        if (nodo == null || !nodo.documentos.eliminar(documento)) return false;
+        if (nodo.documentos.estaVacia()) {
+            eliminar(clave);
+        }
+        return true;
+    }
+    
+    /**
+     * Elimina una clave con todos sus documentos, en O(log n) y sin recursión.
+     * Si el nodo tiene dos hijos toma el contenido de su sucesor y se elimina el sucesor,
+     * que tiene a lo sumo un hijo. Luego se sube por el camino actualizando alturas y
+     * tamaños y rebalanceando (en una eliminación puede hacer falta rotar en varios niveles).
+     * 
+     * @param clave clave a eliminar
+     * @return true si la clave existía
      */
-    public void insertar(T clave, String titulo) {
-        raiz = insertar(raiz, clave, titulo);
+    public boolean eliminar(T clave) {
+        // 1. Bajar hasta la clave guardando el camino
+        int profundidad = 0;
+        NodoAVL<T> nodo = raiz;
+        while (nodo != null) {
+            int cmp = clave.compareTo(nodo.clave);
+            if (cmp == 0) break;
+            camino[profundidad++] = nodo;
+            nodo = cmp < 0 ? nodo.izquierdo : nodo.derecho;
+        }
+        if (nodo == null) {
+            Arrays.fill(camino, 0, profundidad, null);
+            return false;
+        }
+        
+        // 2. Con dos hijos, el sucesor (mínimo del subárbol derecho) ocupa su lugar
+        if (nodo.izquierdo != null && nodo.derecho != null) {
+            camino[profundidad++] = nodo;
+            NodoAVL<T> sucesor = nodo.derecho;
+            while (sucesor.izquierdo != null) {
+                camino[profundidad++] = sucesor;
+                sucesor = sucesor.izquierdo;
+            }
+            nodo.clave = sucesor.clave;
+            nodo.documentos = sucesor.documentos;
+            nodo = sucesor;
+        }
+        
+        // 3. Desenganchar el nodo, que tiene a lo sumo un hijo
+        NodoAVL<T> hijo = nodo.izquierdo != null ? nodo.izquierdo : nodo.derecho;
+        reemplazarHijo(profundidad == 0 ? null : camino[profundidad - 1], nodo, hijo);
+        
+        // 4. Subir hasta la raíz actualizando y rebalanceando
+        for (int i = profundidad - 1; i >= 0; i--) {
+            NodoAVL<T> actual = camino[i];
+            actualizarAltura(actual);
+            NodoAVL<T> subarbol = balancear(actual);
+            if (subarbol != actual) {
+                reemplazarHijo(i == 0 ? null : camino[i - 1], actual, subarbol);
+            }
+        }
+        Arrays.fill(camino, 0, profundidad, null);
+        return true;
     }
     
     /**
-     * Devuelve el conjunto de títulos asociados a una clave.
+     * Devuelve la lista de ids de documentos asociados a una clave.
      * @param clave
      * @return 
      */
-    public ListaEnlazada<String> obtenerTitulos(T clave) {
-        NodoAVL<T> nodo = buscar(raiz, clave);
-        return nodo == null ? new ListaEnlazada<>() : nodo.titulos;
+    public ListaPostings obtenerDocumentos(T clave) {
+        NodoAVL<T> nodo = buscar(clave);
+        return nodo == null ? new ListaPostings() : nodo.documentos;
     }
     
     /**
-     * Busca de forma recursiva un nodo que contenga la clave especificada dentro del árbol AVL.
+     * Busca de forma iterativa el nodo que contiene la clave especificada dentro del árbol AVL.
      * Compara la clave buscada con la clave del nodo actual y decide si continúa por el subárbol izquierdo o derecho.
      * 
-     * @param nodo el nodo desde el cual comienza la búsqueda (puede ser la raíz o un subárbol)
      * @param clave la clave que se desea localizar en el árbol
      * @return el nodo que contiene la clave, o null si no se encuentra
      */
-    private NodoAVL<T> buscar(NodoAVL<T> nodo, T clave) {
-        if (nodo == null) return null;
-        int cmp = clave.compareTo(nodo.clave);
-        if (cmp == 0) return nodo;
-        else if (cmp < 0)  return buscar(nodo.izquierdo, clave);
-        else return buscar(nodo.derecho, clave);
+    private NodoAVL<T> buscar(T clave) {
+        NodoAVL<T> nodo = raiz;
+        while (nodo != null) {
+            int cmp = clave.compareTo(nodo.clave);
+            if (cmp == 0) return nodo;
+            nodo = cmp < 0 ? nodo.izquierdo : nodo.derecho;
+        }
+        return null;
     }
     
     /**
      * Devuelve todas las claves en orden alfábetico.
+     * Copia todas las claves; para recorrerlas sin copiar usar {@link #recorrido()}.
      * @return 
      */
     public ListaEnlazada<T> inorden() {
         ListaEnlazada<T> lista = new ListaEnlazada<>();
-        recorridoInorden(raiz, lista);
+        for (Entrada<T> e : recorrido()) {
+            lista.agregar(e.getClave());
+        }
         return lista;
     }
     
-    // --- Métodos privados ---
+    /**
+     * Recorrido inorden perezoso de todo el árbol.
+     * Cada paso baja solo por el camino necesario usando una pila explícita.
+     * @return vista de las entradas en orden
+     */
+    public Iterable<Entrada<T>> recorrido() {
+        return () -> new RecorridoInorden<>(raiz, null, null, null, Integer.MAX_VALUE).apilarDesde(null);
+    }
     
-    private NodoAVL<T> insertar(NodoAVL<T> nodo, T clave, String titulo) {
-        if (nodo == null) return new NodoAVL<>(clave, titulo);
-        
-        int cmp = clave.compareTo(nodo.clave);
-        if (cmp < 0) {
-           nodo.izquierdo = insertar(nodo.izquierdo, clave, titulo);           
-        } else if (cmp > 0) {
-            nodo.derecho = insertar(nodo.derecho, clave, titulo);
-        } else {
-            nodo.titulos.agregar(titulo); // clave ya existe, solo agregamos título
-            return nodo;
+    /**
+     * Entradas con clave en el rango [desde, hasta), en orden.
+     * Solo se visitan los nodos del camino hasta {@code desde} y los del rango.
+     * @param desde cota inferior incluida, o null para empezar por la menor clave
+     * @param hasta cota superior excluida, o null para llegar hasta la mayor clave
+     * @return vista perezosa de las entradas del rango
+     */
+    public Iterable<Entrada<T>> rango(T desde, T hasta) {
+        return () -> new RecorridoInorden<>(raiz, hasta, null, null, Integer.MAX_VALUE).apilarDesde(desde);
+    }
+    
+    /**
+     * Entradas cuya clave empieza con el prefijo indicado, en orden.
+     * Se baja hasta la primera clave mayor o igual que el prefijo y se avanza
+     * mientras las claves lo sigan teniendo.
+     * @param prefijo prefijo buscado
+     * @return vista perezosa de las entradas con ese prefijo
+     */
+    public Iterable<Entrada<T>> prefijo(T prefijo) {
+        return () -> new RecorridoInorden<>(raiz, null, prefijo, empiezaCon, Integer.MAX_VALUE).apilarDesde(prefijo);
+    }
+    
+    /**
+     * Cantidad de claves del árbol, en O(1).
+     * @return número de claves distintas
+     */
+    public int size() {
+        return tamano(raiz);
+    }
+    
+    /**
+     * Posición que ocupa (u ocuparía) una clave en el orden del árbol.
+     * Baja una sola vez sumando los tamaños de los subárboles que quedan a la izquierda.
+     * @param clave clave buscada (no necesita existir)
+     * @return cantidad de claves menores que {@code clave}
+     */
+    public int rank(T clave) {
+        int menores = 0;
+        NodoAVL<T> nodo = raiz;
+        while (nodo != null) {
+            int cmp = clave.compareTo(nodo.clave);
+            if (cmp <= 0) {
+                if (cmp == 0) return menores + tamano(nodo.izquierdo);
+                nodo = nodo.izquierdo;
+            } else {
+                menores += tamano(nodo.izquierdo) + 1;
+                nodo = nodo.derecho;
+            }
+        }
+        return menores;
+    }
+    
+    /**
+     * Devuelve la clave que ocupa una posición en el orden del árbol, en O(log n).
+     * @param k posición, desde 0
+     * @return la k-ésima clave menor
+     * @throws IndexOutOfBoundsException si k no está entre 0 y size() - 1
+     */
+    public T select(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Posición " + k + " fuera del árbol de tamaño " + size());
+        }
+        NodoAVL<T> nodo = raiz;
+        while (true) {
+            int izquierdos = tamano(nodo.izquierdo);
+            if (k < izquierdos) {
+                nodo = nodo.izquierdo;
+            } else if (k == izquierdos) {
+                return nodo.clave;
+            } else {
+                k -= izquierdos + 1;
+                nodo = nodo.derecho;
+            }
         }
-        
-        actualizarAltura(nodo);
-        return balancear(nodo);        
     }
     
-    private void recorridoInorden(NodoAVL<T> nodo, ListaEnlazada<T> lista) {
-        if (nodo == null) return;
-        recorridoInorden(nodo.izquierdo, lista);
-        lista.agregar(nodo.clave);
-        recorridoInorden(nodo.derecho, lista);
+    /**
+     * Página de entradas en orden: a lo sumo {@code limite} entradas a partir de la posición
+     * {@code desplazamiento}. Llegar al inicio de la página cuesta O(log n) gracias a los
+     * tamaños de subárbol; luego cada entrada se obtiene como en {@link #recorrido()}.
+     * @param desplazamiento posición de la primera entrada (desde 0)
+     * @param limite cantidad máxima de entradas
+     * @return vista perezosa de la página (vacía si el desplazamiento pasa del final)
+     */
+    public Iterable<Entrada<T>> pagina(int desplazamiento, int limite) {
+        if (desplazamiento < 0 || limite < 0) {
+            throw new IllegalArgumentException("Desplazamiento y límite no pueden ser negativos.");
+        }
+        return () -> new RecorridoInorden<>(raiz, null, null, null, limite).apilarDesdePosicion(desplazamiento);
+    }
+    
+    /**
+     * Crea una copia inmutable y plana del árbol para consultas de solo lectura.
+     * Los cambios posteriores en el árbol no se reflejan en el índice congelado.
+     * @return índice con las mismas claves y documentos
+     */
+    public IndiceCongelado<T> congelar() {
+        return IndiceCongelado.de(recorrido(), size());
+    }
+    
+    /**
+     * Adapta una vista de entradas a una vista de solo sus claves.
+     * @param <T> tipo de clave
+     * @param entradas vista obtenida de {@link #recorrido()}, {@link #rango} o {@link #prefijo}
+     * @return vista perezosa de las claves
+     */
+    public static <T> Iterable<T> claves(Iterable<Entrada<T>> entradas) {
+        return claves(entradas, clave -> clave);
+    }
+    
+    /**
+     * Adapta una vista de entradas a una vista de un dato de cada clave.
+     * @param <T> tipo de clave
+     * @param <R> tipo del dato
+     * @param entradas vista obtenida de {@link #recorrido()}, {@link #rango} o {@link #prefijo}
+     * @param conversion obtiene el dato a partir de la clave
+     * @return vista perezosa de los datos, en el orden de las entradas
+     */
+    public static <T, R> Iterable<R> claves(Iterable<Entrada<T>> entradas, Function<? super T, ? extends R> conversion) {
+        return () -> new Iterator<R>() {
+            private final Iterator<Entrada<T>> it = entradas.iterator();
+            
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+            
+            @Override
+            public R next() {
+                return conversion.apply(it.next().getClave());
+            }
+        };
+    }
+    
+    // --- Métodos privados ---
+    
+    /**
+     * Cuelga un subárbol nuevo en el lugar que ocupaba otro.
+     * 
+     * @param padre padre del subárbol anterior, o null si era la raíz
+     * @param anterior subárbol que se reemplaza
+     * @param nuevo subárbol que ocupa su lugar
+     */
+    private void reemplazarHijo(NodoAVL<T> padre, NodoAVL<T> anterior, NodoAVL<T> nuevo) {
+        if (padre == null) {
+            raiz = nuevo;
+        } else if (padre.izquierdo == anterior) {
+            padre.izquierdo = nuevo;
+        } else {
+            padre.derecho = nuevo;
+        }
     }
     
     // --- Balanceo y rotaciones ---
     
     /**
      * Actualiza la altura de un nodo en función de las alturas de sus hijos.
+     * También recalcula el tamaño del subárbol, así las rotaciones lo mantienen al día.
      * 
      * @param nodo el nodo cuya altura se desea actualizar 
      */
     private void actualizarAltura(NodoAVL<T> nodo) {
         nodo.altura = 1 + Math.max(altura(nodo.izquierdo), altura(nodo.derecho));
+        nodo.tamano = 1 + tamano(nodo.izquierdo) + tamano(nodo.derecho);
+    }
+    
+    /**
+     * Devuelve la cantidad de nodos de un subárbol.
+     * 
+     * @param nodo raíz del subárbol
+     * @return el tamaño, o 0 si es null
+     */
+    private int tamano(NodoAVL<T> nodo) {
+        return nodo == null ? 0 : nodo.tamano;
     }
     
     /**
@@ -0,0 +1,481 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+import java.util.function.BiPredicate;
+
+/**
+ * Variante persistente de {@link ArbolAVL}: los nodos son inmutables y cada escritura
+ * copia solo el camino desde la raíz hasta la clave (O(log n) nodos nuevos). La raíz
+ * nueva se publica con una única escritura volátil.
+ *
+ * <p>Los lectores no toman candados: leen la raíz una vez y trabajan sobre esa versión,
+ * que ya no cambia aunque el escritor siga indexando. Para que varias búsquedas vean el
+ * mismo estado (por ejemplo los términos de una consulta) se usa {@link #instantanea()}.
+ * Las escrituras se serializan entre sí (un escritor a la vez).</p>
+ *
+ * <p>Las listas de documentos de las versiones publicadas son instantáneas de solo
+ * lectura ({@link ListaPostings#instantanea()}) que comparten los bytes con la lista
+ * viva del escritor, así que agregar un documento a una clave existente no copia su lista.</p>
+ *
+ * @param <T> tipo de clave
+ * @author NITRO
+ */
+public class ArbolAVLPersistente<T extends Comparable<T>> {
+
+    /** Raíz de la versión vigente; cada escritura la reemplaza. */
+    private volatile NodoPersistente<T> raiz;
+
+    /** Camino de la última escritura; solo lo usa el escritor. */
+    private final NodoPersistente<T>[] camino;
+    /** Lado por el que se bajó en cada paso del camino (true = izquierdo). */
+    private final boolean[] porIzquierda;
+
+    /** Indica si una clave (primer argumento) empieza con un prefijo (segundo argumento). */
+    private final BiPredicate<? super T, ? super T> empiezaCon;
+
+    /**
+     * Nodo inmutable. Además de la instantánea que ven los lectores guarda la lista
+     * viva, que solo modifica el escritor y que pasa sin copiarse a la copia del nodo.
+     */
+    private static final class NodoPersistente<T> implements NodoOrdenado<T, NodoPersistente<T>> {
+        final T clave;
+        final ListaPostings viva;
+        final ListaPostings documentos;
+        final NodoPersistente<T> izquierdo, derecho;
+        final int altura;
+        final int tamano;
+
+        NodoPersistente(T clave, ListaPostings viva, NodoPersistente<T> izquierdo, NodoPersistente<T> derecho) {
+            this.clave = clave;
+            this.viva = viva;
+            this.documentos = viva.instantanea();
+            this.izquierdo = izquierdo;
+            this.derecho = derecho;
+            this.altura = 1 + Math.max(altura(izquierdo), altura(derecho));
+            this.tamano = 1 + tamano(izquierdo) + tamano(derecho);
+        }
+
+        /**
+         * Copia del nodo con otros hijos; la instantánea de documentos se conserva.
+         */
+        NodoPersistente(NodoPersistente<T> base, NodoPersistente<T> izquierdo, NodoPersistente<T> derecho) {
+            this.clave = base.clave;
+            this.viva = base.viva;
+            this.documentos = base.documentos;
+            this.izquierdo = izquierdo;
+            this.derecho = derecho;
+            this.altura = 1 + Math.max(altura(izquierdo), altura(derecho));
+            this.tamano = 1 + tamano(izquierdo) + tamano(derecho);
+        }
+
+        @Override
+        public T getClave() {
+            return clave;
+        }
+
+        @Override
+        public ListaPostings getDocumentos() {
+            return documentos;
+        }
+
+        @Override
+        public NodoPersistente<T> hijoIzquierdo() {
+            return izquierdo;
+        }
+
+        @Override
+        public NodoPersistente<T> hijoDerecho() {
+            return derecho;
+        }
+
+        @Override
+        public int tamanoSubarbol() {
+            return tamano;
+        }
+    }
+
+    /**
+     * Crea un árbol cuyo prefijo se compara con {@code toString().startsWith}.
+     */
+    public ArbolAVLPersistente() {
+        this((clave, prefijo) -> clave.toString().startsWith(prefijo.toString()));
+    }
+
+    /**
+     * Crea un árbol con una prueba de prefijo propia para {@link #prefijo(Comparable)},
+     * con las mismas condiciones que en {@link ArbolAVL#ArbolAVL(BiPredicate)}.
+     *
+     * @param empiezaCon recibe la clave y el prefijo; true si la clave empieza con él
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ArbolAVLPersistente(BiPredicate<? super T, ? super T> empiezaCon) {
+        this.camino = (NodoPersistente<T>[]) new NodoPersistente[ArbolAVL.ALTURA_MAXIMA];
+        this.porIzquierda = new boolean[ArbolAVL.ALTURA_MAXIMA];
+        this.empiezaCon = empiezaCon;
+    }
+
+    // --- Escrituras ---
+
+    /**
+     * Inserta una clave con el id del documento asociado y publica la versión nueva.
+     * Baja guardando el camino y al subir crea una copia de cada nodo del camino,
+     * rebalanceando con nodos nuevos; los subárboles que no cambian se comparten.
+     *
+     * @param clave
+     * @param documento
+     */
+    public synchronized void insertar(T clave, int documento) {
+        NodoPersistente<T> actual = raiz;
+        int profundidad = 0;
+        NodoPersistente<T> subarbol = null;
+        while (actual != null) {
+            int cmp = clave.compareTo(actual.clave);
+            if (cmp == 0) {
+                // Clave existente: la lista viva crece y el nodo copiado toma una instantánea nueva
+                if (!actual.viva.agregar(documento)) {
+                    Arrays.fill(camino, 0, profundidad, null);
+                    return;
+                }
+                subarbol = new NodoPersistente<>(actual.clave, actual.viva, actual.izquierdo, actual.derecho);
+                break;
+            }
+            camino[profundidad] = actual;
+            porIzquierda[profundidad++] = cmp < 0;
+            actual = cmp < 0 ? actual.izquierdo : actual.derecho;
+        }
+        if (subarbol == null) {
+            ListaPostings lista = new ListaPostings();
+            lista.agregar(documento);
+            subarbol = new NodoPersistente<>(clave, lista, null, null);
+        }
+        publicar(profundidad, subarbol, -1, null);
+    }
+
+    /**
+     * Construye el árbol de una vez a partir de claves ordenadas, en O(n) y sin
+     * rotaciones, y lo publica como versión nueva. Igual que
+     * {@link ArbolAVL#construir(Comparable[], ListaPostings[], int)}, los nodos se
+     * quedan con las listas recibidas sin copiarlas.
+     *
+     * @param claves claves en orden estrictamente creciente
+     * @param documentos lista de ids de cada clave (misma posición)
+     * @param n cantidad de claves a usar desde el inicio de los arreglos
+     * @throws IllegalArgumentException si las claves no están ordenadas o están repetidas
+     */
+    public synchronized void construir(T[] claves, ListaPostings[] documentos, int n) {
+        raiz = NodoOrdenado.construir(claves, documentos, n, NodoPersistente::new);
+    }
+
+    /**
+     * Quita un documento de la lista de una clave y publica la versión nueva. Si la
+     * lista queda vacía se elimina el nodo. Las versiones anteriores conservan su
+     * instantánea de la lista, porque la lista viva recorta en arreglos nuevos.
+     *
+     * @param clave clave a la que pertenece el documento
+     * @param documento id del documento
+     * @return true si el documento estaba asociado a la clave
+     */
+    public synchronized boolean eliminarDocumento(T clave, int documento) {
+        int profundidad = 0;
+        NodoPersistente<T> actual = raiz;
+        while (actual != null) {
+            int cmp = clave.compareTo(actual.clave);
+            if (cmp == 0) break;
+            camino[profundidad] = actual;
+            porIzquierda[profundidad++] = cmp < 0;
+            actual = cmp < 0 ? actual.izquierdo : actual.derecho;
+        }
+        if (actual == null || !actual.viva.eliminar(documento)) {
+            Arrays.fill(camino, 0, profundidad, null);
+            return false;
+        }
+        if (actual.viva.estaVacia()) {
+            Arrays.fill(camino, 0, profundidad, null);
+            eliminar(clave);
+        } else {
+            publicar(profundidad, new NodoPersistente<>(actual.clave, actual.viva, actual.izquierdo, actual.derecho), -1, null);
+        }
+        return true;
+    }
+
+    /**
+     * Elimina una clave con todos sus documentos y publica la versión nueva, en O(log n)
+     * nodos copiados. Si el nodo tiene dos hijos su lugar lo ocupa una copia del sucesor.
+     *
+     * @param clave clave a eliminar
+     * @return true si la clave existía
+     */
+    public synchronized boolean eliminar(T clave) {
+        // 1. Bajar hasta la clave guardando el camino
+        int profundidad = 0;
+        NodoPersistente<T> nodo = raiz;
+        while (nodo != null) {
+            int cmp = clave.compareTo(nodo.clave);
+            if (cmp == 0) break;
+            camino[profundidad] = nodo;
+            porIzquierda[profundidad++] = cmp < 0;
+            nodo = cmp < 0 ? nodo.izquierdo : nodo.derecho;
+        }
+        if (nodo == null) {
+            Arrays.fill(camino, 0, profundidad, null);
+            return false;
+        }
+
+        // 2. Con a lo sumo un hijo, el hijo ocupa su lugar
+        if (nodo.izquierdo == null || nodo.derecho == null) {
+            publicar(profundidad, nodo.izquierdo != null ? nodo.izquierdo : nodo.derecho, -1, null);
+            return true;
+        }
+
+        // 3. Con dos hijos se baja hasta el sucesor (mínimo del subárbol derecho);
+        // al subir, la copia del nodo eliminado toma la clave y la lista del sucesor
+        int eliminado = profundidad;
+        camino[profundidad] = nodo;
+        porIzquierda[profundidad++] = false;
+        NodoPersistente<T> sucesor = nodo.derecho;
+        while (sucesor.izquierdo != null) {
+            camino[profundidad] = sucesor;
+            porIzquierda[profundidad++] = true;
+            sucesor = sucesor.izquierdo;
+        }
+        publicar(profundidad, sucesor.derecho, eliminado, sucesor);
+        return true;
+    }
+
+    // --- Lecturas sobre la versión vigente ---
+
+    /**
+     * Devuelve la lista de ids de documentos asociados a una clave en la versión vigente.
+     *
+     * @param clave
+     * @return lista de solo lectura (vacía si la clave no existe)
+     */
+    public ListaPostings obtenerDocumentos(T clave) {
+        return buscar(raiz, clave);
+    }
+
+    /**
+     * Recorrido inorden perezoso de la versión vigente al llamar.
+     *
+     * @return vista de las entradas en orden
+     */
+    public Iterable<ArbolAVL.Entrada<T>> recorrido() {
+        return instantanea().recorrido();
+    }
+
+    /**
+     * Entradas con clave en el rango [desde, hasta) de la versión vigente, en orden.
+     *
+     * @param desde cota inferior incluida, o null para empezar por la menor clave
+     * @param hasta cota superior excluida, o null para llegar hasta la mayor clave
+     * @return vista perezosa de las entradas del rango
+     */
+    public Iterable<ArbolAVL.Entrada<T>> rango(T desde, T hasta) {
+        return instantanea().rango(desde, hasta);
+    }
+
+    /**
+     * Entradas cuya clave empieza con el prefijo indicado, en la versión vigente.
+     *
+     * @param prefijo prefijo buscado
+     * @return vista perezosa de las entradas con ese prefijo
+     */
+    public Iterable<ArbolAVL.Entrada<T>> prefijo(T prefijo) {
+        return instantanea().prefijo(prefijo);
+    }
+
+    /**
+     * Página de entradas de la versión vigente, como {@link ArbolAVL#pagina(int, int)}.
+     *
+     * @param desplazamiento posición de la primera entrada (desde 0)
+     * @param limite cantidad máxima de entradas
+     * @return vista perezosa de la página
+     */
+    public Iterable<ArbolAVL.Entrada<T>> pagina(int desplazamiento, int limite) {
+        return instantanea().pagina(desplazamiento, limite);
+    }
+
+    /**
+     * Cantidad de claves de la versión vigente, en O(1).
+     *
+     * @return número de claves distintas
+     */
+    public int size() {
+        return tamano(raiz);
+    }
+
+    /**
+     * Fija la versión vigente para hacer varias lecturas consistentes entre sí.
+     * Es O(1): solo guarda la raíz actual.
+     *
+     * @return versión inmutable del árbol
+     */
+    public Instantanea<T> instantanea() {
+        return new Instantanea<>(raiz, empiezaCon);
+    }
+
+    /**
+     * Indica si una versión sigue siendo la vigente, es decir, si no hubo escrituras
+     * desde que se tomó. Es O(1).
+     *
+     * @param version versión tomada de este árbol
+     * @return true si el árbol no cambió desde esa versión
+     */
+    public boolean esVigente(Instantanea<T> version) {
+        return version.raiz == raiz;
+    }
+
+    /**
+     * Versión fija del árbol. Las escrituras posteriores no la afectan.
+     *
+     * @param <T> tipo de clave
+     */
+    public static final class Instantanea<T extends Comparable<T>> {
+        private final NodoPersistente<T> raiz;
+        private final BiPredicate<? super T, ? super T> empiezaCon;
+
+        private Instantanea(NodoPersistente<T> raiz, BiPredicate<? super T, ? super T> empiezaCon) {
+            this.raiz = raiz;
+            this.empiezaCon = empiezaCon;
+        }
+
+        /**
+         * @param clave clave buscada
+         * @return ids asociados en esta versión (lista vacía si la clave no existe)
+         */
+        public ListaPostings obtenerDocumentos(T clave) {
+            return buscar(raiz, clave);
+        }
+
+        /**
+         * Recorrido inorden perezoso de esta versión.
+         *
+         * @return vista de las entradas en orden
+         */
+        public Iterable<ArbolAVL.Entrada<T>> recorrido() {
+            return () -> new RecorridoInorden<>(raiz, null, null, null, Integer.MAX_VALUE).apilarDesde(null);
+        }
+
+        /**
+         * @param desde cota inferior incluida, o null para empezar por la menor clave
+         * @param hasta cota superior excluida, o null para llegar hasta la mayor clave
+         * @return vista perezosa de las entradas del rango en esta versión
+         */
+        public Iterable<ArbolAVL.Entrada<T>> rango(T desde, T hasta) {
+            return () -> new RecorridoInorden<>(raiz, hasta, null, null, Integer.MAX_VALUE).apilarDesde(desde);
+        }
+
+        /**
+         * @param prefijo prefijo buscado
+         * @return vista perezosa de las entradas con ese prefijo en esta versión
+         */
+        public Iterable<ArbolAVL.Entrada<T>> prefijo(T prefijo) {
+            return () -> new RecorridoInorden<>(raiz, null, prefijo, empiezaCon, Integer.MAX_VALUE).apilarDesde(prefijo);
+        }
+
+        /**
+         * @param desplazamiento posición de la primera entrada (desde 0)
+         * @param limite cantidad máxima de entradas
+         * @return vista perezosa de la página en esta versión
+         */
+        public Iterable<ArbolAVL.Entrada<T>> pagina(int desplazamiento, int limite) {
+            if (desplazamiento < 0 || limite < 0) {
+                throw new IllegalArgumentException("Desplazamiento y límite no pueden ser negativos.");
+            }
+            return () -> new RecorridoInorden<>(raiz, null, null, null, limite).apilarDesdePosicion(desplazamiento);
+        }
+
+        /**
+         * @return cantidad de claves de esta versión
+         */
+        public int size() {
+            return tamano(raiz);
+        }
+
+        /**
+         * Copia plana de esta versión, como {@link ArbolAVL#congelar()}. La versión no
+         * cambia, así que el índice sirve mientras el árbol siga en ella
+         * ({@link ArbolAVLPersistente#esVigente(Instantanea)}).
+         *
+         * @return índice con las claves y documentos de esta versión
+         */
+        public IndiceCongelado<T> congelar() {
+            return IndiceCongelado.de(recorrido(), size());
+        }
+    }
+
+    // --- Métodos privados ---
+
+    /**
+     * Sube desde el final del camino copiando y rebalanceando cada nodo con el subárbol
+     * nuevo como hijo, y publica la raíz resultante. Deja el camino limpio.
+     *
+     * @param profundidad cantidad de nodos del camino
+     * @param subarbol subárbol que reemplaza al hijo del último nodo del camino
+     * @param reemplazado posición del camino cuyo contenido se reemplaza, o -1
+     * @param contenido nodo cuya clave y lista toma la copia de {@code reemplazado}
+     */
+    private void publicar(int profundidad, NodoPersistente<T> subarbol, int reemplazado, NodoPersistente<T> contenido) {
+        for (int i = profundidad - 1; i >= 0; i--) {
+            NodoPersistente<T> padre = camino[i];
+            NodoPersistente<T> base = i == reemplazado ? contenido : padre;
+            subarbol = porIzquierda[i]
+                    ? balancear(base, subarbol, padre.derecho)
+                    : balancear(base, padre.izquierdo, subarbol);
+            camino[i] = null;
+        }
+        raiz = subarbol; // publicación de la versión nueva
+    }
+
+    private static <T extends Comparable<T>> ListaPostings buscar(NodoPersistente<T> nodo, T clave) {
+        while (nodo != null) {
+            int cmp = clave.compareTo(nodo.clave);
+            if (cmp == 0) return nodo.documentos;
+            nodo = cmp < 0 ? nodo.izquierdo : nodo.derecho;
+        }
+        return new ListaPostings();
+    }
+
+    private static int altura(NodoPersistente<?> nodo) {
+        return nodo == null ? 0 : nodo.altura;
+    }
+
+    private static int tamano(NodoPersistente<?> nodo) {
+        return nodo == null ? 0 : nodo.tamano;
+    }
+
+    /**
+     * Crea la copia de {@code base} con los hijos indicados, aplicando la rotación
+     * que haga falta (casos LL, RR, LR y RL) con nodos nuevos.
+     */
+    private static <T> NodoPersistente<T> balancear(NodoPersistente<T> base, NodoPersistente<T> izq, NodoPersistente<T> der) {
+        int fb = altura(izq) - altura(der);
+        if (fb > 1) {
+            if (altura(izq.izquierdo) >= altura(izq.derecho)) {
+                // Caso LL: rotación derecha
+                return new NodoPersistente<>(izq, izq.izquierdo, new NodoPersistente<>(base, izq.derecho, der));
+            }
+            // Caso LR: la raíz nueva es el nieto izquierdo-derecho
+            NodoPersistente<T> nieto = izq.derecho;
+            return new NodoPersistente<>(nieto,
+                    new NodoPersistente<>(izq, izq.izquierdo, nieto.izquierdo),
+                    new NodoPersistente<>(base, nieto.derecho, der));
+        }
+        if (fb < -1) {
+            if (altura(der.derecho) >= altura(der.izquierdo)) {
+                // Caso RR: rotación izquierda
+                return new NodoPersistente<>(der, new NodoPersistente<>(base, izq, der.izquierdo), der.derecho);
+            }
+            // Caso RL
+            NodoPersistente<T> nieto = der.izquierdo;
+            return new NodoPersistente<>(nieto,
+                    new NodoPersistente<>(base, izq, nieto.izquierdo),
+                    new NodoPersistente<>(der, nieto.derecho, der.derecho));
+        }
+        return new NodoPersistente<>(base, izq, der);
+    }
+}
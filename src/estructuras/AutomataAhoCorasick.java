@@ -0,0 +1,233 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+
+/**
+ * Autómata de Aho–Corasick para contar varias palabras o frases en una sola pasada.
+ * El texto se recorre una vez, carácter por carácter, sin importar cuántos patrones haya:
+ * el costo es O(largo del texto + apariciones) en lugar de O(patrones × largo del texto).
+ *
+ * <p>Cada patrón se cuenta igual que con un ciclo de {@code indexOf}: apariciones sin
+ * solapamiento, de izquierda a derecha. El autómata no cambia después de construirse,
+ * así que puede compartirse entre hilos (por ejemplo para recorrer todo el corpus).</p>
+ *
+ * <p>Las transiciones se guardan en una tabla hash abierta de pares (nodo, carácter),
+ * con arreglos primitivos y sin objetos por nodo.</p>
+ *
+ * @author NITRO
+ */
+public final class AutomataAhoCorasick {
+
+    private static final long VACIO = -1L;
+    private static final int SIN_NODO = -1;
+
+    /** Tabla de transiciones: clave (nodo << 16 | carácter) y nodo destino. */
+    private final long[] claves;
+    private final int[] destinos;
+    private final int mascara;
+    /** Transiciones de la raíz para caracteres Latin-1 (el estado más visitado), sin hash. */
+    private final int[] desdeRaiz = new int[256];
+
+    /** Enlace de falla: nodo del sufijo propio más largo que también está en el trie. */
+    private final int[] fallo;
+    /** Siguiente nodo terminal en la cadena de fallas, o SIN_NODO. */
+    private final int[] salida;
+    /** Patrón distinto que termina en cada nodo, o SIN_NODO. */
+    private final int[] patron;
+    /** Largo de cada patrón distinto. */
+    private final int[] longitudes;
+    /** Patrón distinto que corresponde a cada patrón recibido (SIN_NODO si es vacío). */
+    private final int[] indices;
+    private final int distintos;
+
+    /**
+     * Construye el autómata. Los patrones deben venir ya normalizados igual que los
+     * textos donde se van a buscar; los repetidos comparten estado y los vacíos cuentan 0.
+     *
+     * @param patrones palabras o frases a contar
+     */
+    public AutomataAhoCorasick(String[] patrones) {
+        int capacidad = 1;
+        for (String p : patrones) capacidad += p.length();
+
+        int tamanoTabla = 2;
+        while (tamanoTabla < 2 * capacidad) tamanoTabla <<= 1;
+        this.claves = new long[tamanoTabla];
+        Arrays.fill(claves, VACIO);
+        this.destinos = new int[tamanoTabla];
+        this.mascara = tamanoTabla - 1;
+
+        // Estructura del trie solo para la construcción: hijos como listas enlazadas en arreglos
+        int[] primerHijo = new int[capacidad];
+        int[] hermano = new int[capacidad];
+        char[] etiqueta = new char[capacidad];
+        Arrays.fill(primerHijo, SIN_NODO);
+
+        this.patron = new int[capacidad];
+        Arrays.fill(patron, SIN_NODO);
+        this.longitudes = new int[patrones.length];
+        this.indices = new int[patrones.length];
+
+        // 1. Trie de los patrones
+        int nodos = 1;
+        int cantidad = 0;
+        for (int i = 0; i < patrones.length; i++) {
+            String p = patrones[i];
+            if (p.isEmpty()) {
+                indices[i] = SIN_NODO;
+                continue;
+            }
+            int nodo = 0;
+            for (int j = 0; j < p.length(); j++) {
+                char c = p.charAt(j);
+                int hijo = transicion(nodo, c);
+                if (hijo == SIN_NODO) {
+                    hijo = nodos++;
+                    poner(nodo, c, hijo);
+                    etiqueta[hijo] = c;
+                    hermano[hijo] = primerHijo[nodo];
+                    primerHijo[nodo] = hijo;
+                }
+                nodo = hijo;
+            }
+            if (patron[nodo] == SIN_NODO) {
+                patron[nodo] = cantidad;
+                longitudes[cantidad++] = p.length();
+            }
+            indices[i] = patron[nodo];
+        }
+        this.distintos = cantidad;
+        for (int c = 0; c < desdeRaiz.length; c++) {
+            desdeRaiz[c] = transicion(0, (char) c);
+        }
+
+        // 2. Enlaces de falla y de salida por niveles (BFS)
+        this.fallo = new int[nodos];
+        this.salida = new int[nodos];
+        salida[0] = SIN_NODO;
+        int[] cola = new int[nodos];
+        int frente = 0, fin = 0;
+        cola[fin++] = 0;
+        while (frente < fin) {
+            int u = cola[frente++];
+            for (int v = primerHijo[u]; v != SIN_NODO; v = hermano[v]) {
+                char c = etiqueta[v];
+                int f = fallo[u];
+                while (f != 0 && transicion(f, c) == SIN_NODO) f = fallo[f];
+                int t = transicion(f, c);
+                // Los hijos de la raíz encuentran su propia transición; su falla es la raíz
+                fallo[v] = t != SIN_NODO && t != v ? t : 0;
+                salida[v] = patron[fallo[v]] != SIN_NODO ? fallo[v] : salida[fallo[v]];
+                cola[fin++] = v;
+            }
+        }
+    }
+
+    // --- Métodos públicos ---
+
+    /**
+     * Cuenta las apariciones de cada patrón en el texto.
+     *
+     * @param texto texto normalizado
+     * @return frecuencias en el mismo orden de los patrones recibidos
+     */
+    public int[] contar(CharSequence texto) {
+        int[] conteos = new int[indices.length];
+        acumular(texto, conteos, new int[distintos], new int[distintos]);
+        return conteos;
+    }
+
+    /**
+     * Suma a {@code conteos} las apariciones de cada patrón en el texto.
+     * Sirve para recorrer muchos textos con el mismo autómata sin crear arreglos por
+     * texto: los arreglos de trabajo los pone quien llama y se reutilizan.
+     *
+     * @param texto texto normalizado
+     * @param conteos acumulado por patrón recibido (largo igual a {@link #size()})
+     * @param porPatron arreglo de trabajo de largo al menos {@link #patronesDistintos()}
+     * @param ultimoFin arreglo de trabajo de largo al menos {@link #patronesDistintos()}
+     */
+    public void acumular(CharSequence texto, int[] conteos, int[] porPatron, int[] ultimoFin) {
+        Arrays.fill(porPatron, 0, distintos, 0);
+        // Fin de la última aparición contada de cada patrón, para no contar solapadas
+        Arrays.fill(ultimoFin, 0, distintos, 0);
+
+        int estado = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            while (true) {
+                if (estado == 0) {
+                    int t = c < desdeRaiz.length ? desdeRaiz[c] : transicion(0, c);
+                    estado = t == SIN_NODO ? 0 : t;
+                    break;
+                }
+                int t = transicion(estado, c);
+                if (t != SIN_NODO) {
+                    estado = t;
+                    break;
+                }
+                estado = fallo[estado];
+            }
+
+            int n = patron[estado] != SIN_NODO ? estado : salida[estado];
+            for (; n != SIN_NODO; n = salida[n]) {
+                int p = patron[n];
+                if (i + 1 - longitudes[p] >= ultimoFin[p]) {
+                    porPatron[p]++;
+                    ultimoFin[p] = i + 1;
+                }
+            }
+        }
+
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] != SIN_NODO) conteos[i] += porPatron[indices[i]];
+        }
+    }
+
+    /**
+     * Cantidad de patrones recibidos, incluidos repetidos y vacíos.
+     *
+     * @return largo esperado del arreglo de conteos
+     */
+    public int size() {
+        return indices.length;
+    }
+
+    /**
+     * Cantidad de patrones distintos y no vacíos.
+     *
+     * @return largo mínimo de los arreglos de trabajo de {@link #acumular}
+     */
+    public int patronesDistintos() {
+        return distintos;
+    }
+
+    // --- Métodos privados ---
+
+    private int transicion(int nodo, char c) {
+        long clave = ((long) nodo << 16) | c;
+        int i = mezclar(clave) & mascara;
+        long actual;
+        while ((actual = claves[i]) != VACIO) {
+            if (actual == clave) return destinos[i];
+            i = (i + 1) & mascara;
+        }
+        return SIN_NODO;
+    }
+
+    private void poner(int nodo, char c, int destino) {
+        long clave = ((long) nodo << 16) | c;
+        int i = mezclar(clave) & mascara;
+        while (claves[i] != VACIO) i = (i + 1) & mascara;
+        claves[i] = clave;
+        destinos[i] = destino;
+    }
+
+    private static int mezclar(long clave) {
+        return (int) ((clave * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+}
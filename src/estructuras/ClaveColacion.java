@@ -0,0 +1,98 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+
+/**
+ * Clave de índice ordenada según las reglas del español (ver {@link ComparadorEspañol}).
+ * Guarda los bytes de la clave de colación ya calculados, así comparar dos claves es
+ * una comparación de bytes y no vuelve a aplicar el Collator. Con nivel primario
+ * "Ávila" y "avila" son la misma clave, y la ñ queda entre la n y la o.
+ *
+ * <p>El texto que se muestra es el de la cadena con que se creó la clave.</p>
+ *
+ * @author NITRO
+ */
+public final class ClaveColacion implements Comparable<ClaveColacion> {
+
+    /** Comparador compartido; el Collator sincroniza internamente el cálculo de claves. */
+    private static final ComparadorEspañol COMPARADOR = new ComparadorEspañol();
+
+    private final String texto;
+    /** Pesos primarios de la clave de colación, sin los separadores finales. */
+    private final byte[] bytes;
+    private final int hash;
+
+    private ClaveColacion(String texto, byte[] bytes) {
+        this.texto = texto;
+        this.bytes = bytes;
+        this.hash = Arrays.hashCode(bytes);
+    }
+
+    /**
+     * Calcula la clave de una cadena. Es la única operación que usa el Collator.
+     *
+     * @param texto cadena original (autor o palabra clave)
+     * @return clave lista para comparar
+     */
+    public static ClaveColacion de(String texto) {
+        byte[] completa = COMPARADOR.claveColacion(texto).toByteArray();
+        // La clave termina en unidades de 16 bits en cero (separadores de niveles); se quitan
+        // para que la clave de un prefijo sea prefijo, en bytes, de la clave completa
+        int longitud = completa.length;
+        while (longitud >= 2 && completa[longitud - 1] == 0 && completa[longitud - 2] == 0) {
+            longitud -= 2;
+        }
+        return new ClaveColacion(texto, Arrays.copyOf(completa, longitud));
+    }
+
+    /**
+     * Texto con que se creó la clave.
+     *
+     * @return cadena original
+     */
+    public String getTexto() {
+        return texto;
+    }
+
+    /**
+     * Indica si esta clave empieza con otra, ignorando acentos y mayúsculas.
+     * Pensado como prueba de prefijo de {@link ArbolAVL#prefijo(Comparable)}.
+     *
+     * @param prefijo clave del prefijo
+     * @return true si los bytes del prefijo son el comienzo de los de esta clave
+     */
+    public boolean empiezaCon(ClaveColacion prefijo) {
+        return prefijo.bytes.length <= bytes.length
+                && Arrays.equals(bytes, 0, prefijo.bytes.length, prefijo.bytes, 0, prefijo.bytes.length);
+    }
+
+    /**
+     * Compara los bytes sin signo; equivale a comparar los textos con el Collator.
+     */
+    @Override
+    public int compareTo(ClaveColacion otra) {
+        return Arrays.compareUnsigned(bytes, otra.bytes);
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        if (this == otro) return true;
+        if (!(otro instanceof ClaveColacion)) return false;
+        ClaveColacion o = (ClaveColacion) otro;
+        return hash == o.hash && Arrays.equals(bytes, o.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return texto;
+    }
+}
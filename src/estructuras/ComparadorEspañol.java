@@ -3,6 +3,7 @@
  * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
  */
 package estructuras;
+import java.text.CollationKey;
 import java.text.Collator;
 import java.util.Comparator;
 import java.util.Locale;
@@ -36,4 +37,16 @@ public class ComparadorEspañol implements Comparator<String> {
     public int compare(String s1, String s2) {
         return collator.compare(s1, s2);
     }
+    
+    /**
+     * Precalcula la clave de colación de una cadena.
+     * Comparar dos claves da el mismo resultado que {@link #compare(String, String)},
+     * pero la cadena se analiza una sola vez.
+     * 
+     * @param s cadena original
+     * @return clave de colación con las mismas reglas (español, nivel primario)
+     */
+    public CollationKey claveColacion(String s) {
+        return collator.getCollationKey(s);
+    }
 }
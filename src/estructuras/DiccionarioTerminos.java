@@ -0,0 +1,124 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+
+/**
+ * Diccionario de términos (autores y palabras clave).
+ * Asigna a cada término distinto una única instancia canónica de String y un código
+ * entero compacto (0, 1, 2, ...). Así los resúmenes, los árboles y el análisis comparten
+ * la misma instancia y la memoria crece con los términos distintos, no con las apariciones.
+ *
+ * <p>Los métodos están sincronizados porque el diccionario se comparte entre el lector,
+ * el repositorio y el controlador.</p>
+ *
+ * @author NITRO
+ */
+public class DiccionarioTerminos {
+
+    /** Término -> código. */
+    private final HashTable<String, Integer> codigos;
+    /** Código -> instancia canónica. */
+    private String[] terminos;
+    /** Código -> código de su forma en minúsculas, o -1 si aún no se calculó. */
+    private int[] minusculas;
+    private int cantidad;
+
+    /**
+     * Crea un diccionario vacío.
+     */
+    public DiccionarioTerminos() {
+        this.codigos = new HashTable<>();
+        this.terminos = new String[16];
+        this.minusculas = new int[16];
+        this.cantidad = 0;
+    }
+
+    /**
+     * Devuelve el código de un término, agregándolo si no existía.
+     *
+     * @param termino término a codificar (no nulo)
+     * @return código del término
+     */
+    public synchronized int codificar(String termino) {
+        Integer codigo = codigos.get(termino);
+        if (codigo != null) return codigo;
+        if (cantidad == terminos.length) {
+            terminos = Arrays.copyOf(terminos, cantidad * 2);
+            minusculas = Arrays.copyOf(minusculas, cantidad * 2);
+        }
+        int nuevo = cantidad++;
+        terminos[nuevo] = termino;
+        minusculas[nuevo] = -1;
+        codigos.put(termino, nuevo);
+        return nuevo;
+    }
+
+    /**
+     * Devuelve la instancia canónica de un término, registrándolo si no existía.
+     * Uso típico: {@code autores[i] = diccionario.canonico(autores[i]);}
+     *
+     * @param termino término leído
+     * @return instancia compartida igual a {@code termino}
+     */
+    public synchronized String canonico(String termino) {
+        // codificar puede reemplazar el arreglo: se lee después de obtener el código
+        int codigo = codificar(termino);
+        return terminos[codigo];
+    }
+
+    /**
+     * Devuelve la instancia canónica del término en minúsculas.
+     * La conversión se hace una sola vez por término distinto; las llamadas
+     * siguientes no crean cadenas nuevas.
+     *
+     * @param termino término leído
+     * @return forma en minúsculas, canónica
+     */
+    public synchronized String minusculas(String termino) {
+        int codigo = codificar(termino);
+        if (minusculas[codigo] < 0) {
+            // Igual que en canonico: se asigna después de que codificar haya crecido los arreglos
+            int convertido = codificar(terminos[codigo].toLowerCase());
+            minusculas[codigo] = convertido;
+        }
+        return terminos[minusculas[codigo]];
+    }
+
+    /**
+     * Busca el código de un término sin agregarlo.
+     *
+     * @param termino término buscado
+     * @return código, o -1 si el término no está registrado
+     */
+    public synchronized int codigo(String termino) {
+        Integer codigo = codigos.get(termino);
+        return codigo == null ? -1 : codigo;
+    }
+
+    /**
+     * Devuelve el término asociado a un código.
+     *
+     * @param codigo código obtenido de {@link #codificar(String)}
+     * @return instancia canónica del término
+     * @throws IndexOutOfBoundsException si el código no existe
+     */
+    public synchronized String termino(int codigo) {
+        if (codigo < 0 || codigo >= cantidad) {
+            throw new IndexOutOfBoundsException("Código de término inválido: " + codigo);
+        }
+        return terminos[codigo];
+    }
+
+    /**
+     * Cantidad de términos distintos registrados.
+     *
+     * @return número de términos
+     */
+    public synchronized int size() {
+        return cantidad;
+    }
+}
@@ -4,6 +4,15 @@
  */
 package estructuras;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Tabla de dispersión para almacenar resúmenes científicos.
  * Clave: título de la investigaciòn (String).
@@ -12,76 +21,193 @@ package estructuras;
  * @param <K>
  * @param <V>
  */
-public class HashTable<K, V> {
+public class HashTable<K, V> implements Tabla<K, V> {
     private static final double FACTOR_CARGA_MAXIMO = 0.65;
+    /** Por debajo de esta carga la tabla se compacta a la mitad. */
+    private static final double FACTOR_CARGA_MINIMO = 0.15;
+    /** Entradas previstas por defecto; la capacidad sale de dividirlas por el factor de carga. */
+    private static final int ENTRADAS_INICIALES = 16;
+    /** En modo incremental, casillas de la tabla vieja que se migran en cada escritura. */
+    private static final int MIGRACION_POR_OPERACION = 8;
     
     private Entrada<K, V>[] tabla;
+    /** Máscara de índices: tabla.length - 1 (la capacidad siempre es potencia de dos). */
+    private int mascara;
     private int size;
+    /** Capacidad mínima: la tabla nunca se compacta por debajo de la capacidad pedida al crearla. */
+    private final int capacidadMinima;
+    
+    /** Si es true, el redimensionamiento se reparte entre las operaciones siguientes. */
+    private final boolean incremental;
+    /** Tabla anterior mientras dura una migración incremental; null si no hay migración. */
+    private Entrada<K, V>[] tablaVieja;
+    private int mascaraVieja;
+    /** Casillas de la tabla vieja por debajo de este índice ya están vacías. */
+    private int indiceMigracion;
     
     /**
      * Clase interna para representar cada entrada en la tabla.
+     * Guarda el hash ya mezclado para no recalcularlo al sondear ni al redimensionar.
+     * Las vistas de entradas la exponen directamente como {@link Tabla.Par}.
      */
-    private static class Entrada<K, V> {
-        K clave;
+    private static class Entrada<K, V> implements Tabla.Par<K, V> {
+        final K clave;
         V valor;
-        boolean borrado;
+        final int hash;
         
-        Entrada(K clave, V valor) {
+        Entrada(K clave, V valor, int hash) {
             this.clave = clave;
             this.valor = valor;
-            this.borrado = false;
+            this.hash = hash;
+        }
+        
+        @Override
+        public K getClave() {
+            return clave;
+        }
+        
+        @Override
+        public V getValor() {
+            return valor;
         }
     }
     
-    @SuppressWarnings("unchecked")
     public HashTable() {
-        tabla = (Entrada<K, V>[]) new Entrada[17]; // tamaño inicial 
+        this(ENTRADAS_INICIALES);
+    }
+    
+    /**
+     * Crea una tabla con capacidad para al menos la cantidad indicada de entradas
+     * sin redimensionar.
+     * @param capacidadEsperada número de entradas previstas
+     */
+    public HashTable(int capacidadEsperada) {
+        this(capacidadEsperada, false);
+    }
+    
+    /**
+     * Crea una tabla indicando el modo de redimensionamiento.
+     * En modo incremental, al crecer o compactarse se crea la tabla nueva y la vieja se
+     * migra de a {@value #MIGRACION_POR_OPERACION} casillas por cada put o remove, de modo
+     * que ninguna operación paga el costo de rehacer toda la tabla.
+     * @param capacidadEsperada número de entradas previstas
+     * @param incremental true para repartir el redimensionamiento entre operaciones
+     */
+    public HashTable(int capacidadEsperada, boolean incremental) {
+        int capacidad = potenciaDeDos((int) Math.ceil(Math.max(1, capacidadEsperada) / FACTOR_CARGA_MAXIMO));
+        tabla = crearTabla(capacidad);
+        mascara = capacidad - 1;
+        capacidadMinima = capacidad;
         size = 0;
+        this.incremental = incremental;
     }
     
     /**
-     * Función hash personalizada basada en mezcla de caracteres.
+     * Función hash: parte de {@code hashCode()} (que String guarda en caché) y mezcla
+     * sus bits para que los bits bajos, que son los que usa la máscara, dependan de todos.
      */
-    private int hash(K clave) {
-        String s = clave.toString();
-        int h = 0;
-        for (int i = 0; i < s.length(); i++) {
-            h = 31 * h + s.charAt(i); // mezcla multiplicativa y XOR
-        }
-        return Math.abs(h) % tabla.length;
+    private static int hash(Object clave) {
+        int h = clave.hashCode();
+        // Finalizador de MurmurHash3
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+    
+    /**
+     * Distancia entre la casilla donde está una entrada y su casilla ideal.
+     */
+    private static int distancia(int indice, int hash, int mascara) {
+        return (indice - (hash & mascara)) & mascara;
     }
     
     /**
      *  Inserta o actualiza una entrada.
+     *  Usa Robin Hood: al sondear, la entrada que viaja desplaza a la que está más
+     *  cerca de su casilla ideal, así las distancias de sondeo quedan parejas y acotadas.
      * @param clave
      * @param valor
      */
+    @Override
     public void put(K clave, V valor) {
-        if ((size + 1.0) / tabla.length > FACTOR_CARGA_MAXIMO) {
-            redimensionar();
+        migrarPaso();
+        int h = hash(clave);
+        int idx = buscar(tabla, mascara, clave, h);
+        if (idx >= 0) {
+            tabla[idx].valor = valor; // actualización
+            return;
         }
-        
-        int idx = hash(clave);
-        int inicio = idx;
-        int primerBorrado = -1;
-        
+        if (tablaVieja != null) {
+            idx = buscar(tablaVieja, mascaraVieja, clave, h);
+            if (idx >= 0) {
+                tablaVieja[idx].valor = valor; // se actualiza donde está; se moverá al migrar
+                return;
+            }
+        }
+        if (size + 1 > tabla.length * FACTOR_CARGA_MAXIMO) {
+            redimensionar(tabla.length * 2);
+        }
+        colocar(tabla, mascara, new Entrada<>(clave, valor, h));
+        size++;
+    }
+    
+    /**
+     * Ubica una entrada nueva (que se sabe ausente) siguiendo Robin Hood.
+     */
+    private static <K, V> void colocar(Entrada<K, V>[] tabla, int mascara, Entrada<K, V> nueva) {
+        int idx = nueva.hash & mascara;
+        int dist = 0;
         while (true) {
             Entrada<K, V> e = tabla[idx];
             if (e == null) {
-                if (primerBorrado != -1) idx = primerBorrado;
-                tabla[idx] = new Entrada<>(clave, valor);
-                size++;
+                tabla[idx] = nueva;
                 return;
             }
-            if (e.borrado && primerBorrado == -1) {
-                primerBorrado = idx;
-            } else if (!e.borrado && e.clave.equals(clave)) {
-                e.valor = valor; // actualización
-                return;
+            int distE = distancia(idx, e.hash, mascara);
+            if (distE < dist) {
+                // Robin Hood: se queda la entrada más lejana de su casilla ideal
+                tabla[idx] = nueva;
+                nueva = e;
+                dist = distE;
             }
-            idx = (idx + 1) % tabla.length;
-            if (idx == inicio) break;
+            idx = (idx + 1) & mascara;
+            dist++;
+        }
+    }
+    
+    /**
+     * Busca la casilla de una clave.
+     * El sondeo termina al encontrar una casilla vacía o una entrada más cercana a su
+     * casilla ideal que la distancia recorrida: con Robin Hood la clave no puede estar más allá.
+     * @return índice de la casilla, o -1 si la clave no está
+     */
+    private static <K, V> int buscar(Entrada<K, V>[] tabla, int mascara, Object clave, int h) {
+        int idx = h & mascara;
+        int dist = 0;
+        while (true) {
+            Entrada<K, V> e = tabla[idx];
+            if (e == null || distancia(idx, e.hash, mascara) < dist) return -1;
+            if (e.hash == h && e.clave.equals(clave)) return idx;
+            idx = (idx + 1) & mascara;
+            dist++;
+        }
+    }
+    
+    /**
+     * Vacía una casilla con desplazamiento hacia atrás: las entradas siguientes del
+     * mismo grupo que no están en su casilla ideal retroceden una posición.
+     */
+    private static <K, V> void vaciar(Entrada<K, V>[] tabla, int mascara, int idx) {
+        int siguiente = (idx + 1) & mascara;
+        while (tabla[siguiente] != null && distancia(siguiente, tabla[siguiente].hash, mascara) > 0) {
+            tabla[idx] = tabla[siguiente];
+            idx = siguiente;
+            siguiente = (siguiente + 1) & mascara;
         }
+        tabla[idx] = null;
     }
     
     /**
@@ -89,17 +215,16 @@ public class HashTable<K, V> {
      * @param clave
      * @return 
      */
+    @Override
     public V get(K clave) {
-        int idx = hash(clave);
-        int inicio = idx;
-        
-        while (true) {
-            Entrada<K, V> e = tabla[idx];
-            if (e == null) return null;
-            if(!e.borrado && e.clave.equals(clave)) return e.valor;
-            idx = (idx + 1) % tabla.length;
-            if (idx == inicio) return null;
+        int h = hash(clave);
+        int idx = buscar(tabla, mascara, clave, h);
+        if (idx >= 0) return tabla[idx].valor;
+        if (tablaVieja != null) {
+            idx = buscar(tablaVieja, mascaraVieja, clave, h);
+            if (idx >= 0) return tablaVieja[idx].valor;
         }
+        return null;
     }
     
     /**
@@ -107,36 +232,47 @@ public class HashTable<K, V> {
      * @param clave
      * @return 
      */
+    @Override
     public boolean contieneClave(K clave) {
         return get(clave) != null;
     }
     
     /**
-     * Elimina una clave (marcado lógico).
+     * Elimina una clave sin dejar marcas de borrado.
+     * Usa desplazamiento hacia atrás: las entradas siguientes del mismo grupo que no
+     * están en su casilla ideal retroceden una posición, de modo que la tabla queda
+     * igual que si la clave nunca se hubiera insertado y los sondeos no se alargan.
+     * Si la carga baja mucho, la tabla se compacta a la mitad.
      * @param clave
      * @return 
      */
+    @Override
     public boolean remove(K clave) {
-        int idx = hash(clave);
-        int inicio = idx;
+        migrarPaso();
+        int h = hash(clave);
+        int idx = buscar(tabla, mascara, clave, h);
+        if (idx >= 0) {
+            vaciar(tabla, mascara, idx);
+        } else if (tablaVieja != null && (idx = buscar(tablaVieja, mascaraVieja, clave, h)) >= 0) {
+            // En la tabla vieja todo lo que queda está en casillas >= indiceMigracion,
+            // y el desplazamiento hacia atrás no lleva entradas por debajo de idx
+            vaciar(tablaVieja, mascaraVieja, idx);
+        } else {
+            return false;
+        }
+        size--;
         
-        while (true) {
-            Entrada<K, V> e = tabla[idx];
-            if (e == null) return false;
-            if (!e.borrado && e.clave.equals(clave)) {
-                e.borrado = true;
-                size--;
-                return true;
-            }
-            idx = (idx + 1) % tabla.length;
-            if (idx == inicio) return false;
+        if (tablaVieja == null && tabla.length > capacidadMinima && size < tabla.length * FACTOR_CARGA_MINIMO) {
+            redimensionar(tabla.length / 2);
         }
+        return true;
     }
     
     /**
      * Devuelve el número de elementos activos.
      * @return 
      */
+    @Override
     public int size() {
         return size;
     }
@@ -145,10 +281,12 @@ public class HashTable<K, V> {
      * Devuelve todas las claves activas.
      * @return 
      */
+    @Override
     public ListaEnlazada<K> claves() {
+        completarMigracion();
         ListaEnlazada<K> lista = new ListaEnlazada<>();
         for (Entrada<K, V> e : tabla) {
-            if (e != null && !e.borrado) {
+            if (e != null) {
                 lista.agregar(e.clave);
             }
         }
@@ -156,18 +294,300 @@ public class HashTable<K, V> {
     }
     
     /**
-     * Redimensiona la tabla cuando se supera el factor de carga.
+     * Vista de las claves sobre el arreglo interno.
+     * Cada recorrido reserva solo su iterador; las claves no se copian.
+     * @return 
+     */
+    @Override
+    public Iterable<K> vistaClaves() {
+        return () -> new Recorrido<K>() {
+            @Override
+            K extraer(Entrada<K, V> e) {
+                return e.clave;
+            }
+        };
+    }
+    
+    /**
+     * Vista de los valores sobre el arreglo interno.
+     * @return 
+     */
+    @Override
+    public Iterable<V> vistaValores() {
+        return () -> new Recorrido<V>() {
+            @Override
+            V extraer(Entrada<K, V> e) {
+                return e.valor;
+            }
+        };
+    }
+    
+    /**
+     * Vista de las entradas sobre el arreglo interno.
+     * @return 
+     */
+    @Override
+    public Iterable<Tabla.Par<K, V>> vistaEntradas() {
+        return () -> new Recorrido<Tabla.Par<K, V>>() {
+            @Override
+            Tabla.Par<K, V> extraer(Entrada<K, V> e) {
+                return e;
+            }
+        };
+    }
+    
+    /**
+     * Aplica una acción a cada par clave-valor recorriendo el arreglo interno.
+     * @param accion 
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> accion) {
+        completarMigracion();
+        Entrada<K, V>[] t = tabla;
+        for (int i = 0; i < t.length; i++) {
+            Entrada<K, V> e = t[i];
+            if (e != null) {
+                accion.accept(e.clave, e.valor);
+            }
+        }
+    }
+    
+    /**
+     * Histograma de distancias de sondeo de las entradas activas.
+     * La posición d indica cuántas claves están a d casillas de su casilla ideal
+     * (una búsqueda exitosa de esas claves revisa d + 1 casillas).
+     * @return arreglo cuyo largo es la distancia máxima + 1
+     */
+    public int[] histogramaSondeo() {
+        completarMigracion();
+        int maxima = 0;
+        for (int i = 0; i < tabla.length; i++) {
+            Entrada<K, V> e = tabla[i];
+            if (e != null) maxima = Math.max(maxima, distancia(i, e.hash, mascara));
+        }
+        int[] histograma = new int[maxima + 1];
+        for (int i = 0; i < tabla.length; i++) {
+            Entrada<K, V> e = tabla[i];
+            if (e != null) histograma[distancia(i, e.hash, mascara)]++;
+        }
+        return histograma;
+    }
+    
+    /**
+     * Capacidad actual del arreglo interno.
+     * @return 
+     */
+    public int capacidad() {
+        return tabla.length;
+    }
+    
+    /**
+     * Indica si hay una migración incremental en curso.
+     * @return 
      */
-    @SuppressWarnings("unchecked")
-    private void redimensionar() {
+    public boolean migrando() {
+        return tablaVieja != null;
+    }
+    
+    /**
+     * Redimensiona la tabla: al doble cuando se supera el factor de carga máximo
+     * y a la mitad cuando la carga cae por debajo del mínimo.
+     * Reubica usando el hash guardado en cada entrada, sin llamar a hashCode ni equals.
+     * En modo incremental solo crea la tabla nueva; la vieja se migra por partes.
+     * @param capacidad nueva capacidad (potencia de dos)
+     */
+    private void redimensionar(int capacidad) {
+        // Una migración anterior sin terminar se completa antes de empezar otra
+        completarMigracion();
         Entrada<K, V>[] vieja = tabla;
-        tabla = (Entrada<K, V>[]) new Entrada[vieja.length * 2 + 1];
-        size = 0;
+        int mascaraAnterior = mascara;
+        tabla = crearTabla(capacidad);
+        mascara = capacidad - 1;
         
+        if (incremental) {
+            tablaVieja = vieja;
+            mascaraVieja = mascaraAnterior;
+            indiceMigracion = 0;
+            return;
+        }
         for (Entrada<K, V> e : vieja) {
-            if (e != null && !e.borrado) {
-                put(e.clave, e.valor);
+            if (e != null) {
+                colocar(tabla, mascara, e);
+            }
+        }
+    }
+    
+    /**
+     * Migra a la tabla nueva un número acotado de casillas de la tabla vieja.
+     * Cada casilla se vacía por completo (con desplazamiento hacia atrás pueden
+     * llegarle entradas siguientes del mismo grupo) antes de avanzar a la próxima.
+     */
+    private void migrarPaso() {
+        if (tablaVieja == null) return;
+        int trabajo = 0;
+        while (trabajo < MIGRACION_POR_OPERACION && indiceMigracion < tablaVieja.length) {
+            Entrada<K, V> e = tablaVieja[indiceMigracion];
+            if (e == null) {
+                indiceMigracion++;
+            } else {
+                vaciar(tablaVieja, mascaraVieja, indiceMigracion);
+                colocar(tabla, mascara, e);
+            }
+            trabajo++;
+        }
+        if (indiceMigracion == tablaVieja.length) {
+            tablaVieja = null;
+        }
+    }
+    
+    /**
+     * Termina de golpe una migración incremental pendiente.
+     * Se usa antes de recorrer toda la tabla, que de todos modos es O(n).
+     */
+    private void completarMigracion() {
+        while (tablaVieja != null) {
+            migrarPaso();
+        }
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Entrada<K, V>[] crearTabla(int capacidad) {
+        return (Entrada<K, V>[]) new Entrada[capacidad];
+    }
+    
+    /**
+     * Menor potencia de dos mayor o igual que n (como mínimo 2).
+     */
+    private static int potenciaDeDos(int n) {
+        int p = Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+        return p < 0 ? 1 << 30 : p;
+    }
+    
+    /**
+     * Devuelve un flujo (secuencial o paralelo) con las claves activas.
+     * @param paralelo true para repartir el recorrido entre varios hilos
+     * @return 
+     */
+    @Override
+    public Stream<K> streamClaves(boolean paralelo) {
+        completarMigracion();
+        return StreamSupport.stream(new DivisorTabla<>(tabla, 0, tabla.length, size, e -> e.clave), paralelo);
+    }
+    
+    /**
+     * Divisor sobre los valores de toda la tabla.
+     * @return 
+     */
+    @Override
+    public Spliterator<V> spliteratorValores() {
+        completarMigracion();
+        return new DivisorTabla<>(tabla, 0, tabla.length, size, e -> e.valor);
+    }
+    
+    /**
+     * Iterador sobre las casillas ocupadas del arreglo vigente al crearlo.
+     * Al crearse termina cualquier migración pendiente, así todo está en un solo arreglo.
+     * Si la tabla se modifica durante el recorrido el resultado no está definido.
+     */
+    private abstract class Recorrido<R> implements Iterator<R> {
+        private final Entrada<K, V>[] casillas;
+        /** Índice de la próxima casilla ocupada, o casillas.length si no hay más. */
+        private int indice;
+        
+        Recorrido() {
+            completarMigracion();
+            casillas = tabla;
+            indice = buscarOcupada(0);
+        }
+        
+        abstract R extraer(Entrada<K, V> e);
+        
+        private int buscarOcupada(int desde) {
+            while (desde < casillas.length && casillas[desde] == null) desde++;
+            return desde;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return indice < casillas.length;
+        }
+        
+        @Override
+        public R next() {
+            if (indice >= casillas.length) throw new NoSuchElementException();
+            Entrada<K, V> e = casillas[indice];
+            indice = buscarOcupada(indice + 1);
+            return extraer(e);
+        }
+    }
+    
+    /**
+     * Recorre un rango [desde, hasta) del arreglo interno.
+     * Dividir consiste en partir el rango por la mitad, sin recorrer nada, por lo que
+     * las divisiones son O(1) y quedan balanceadas según la dispersión de la función hash.
+     */
+    private static class DivisorTabla<K, V, R> implements Spliterator<R> {
+        /** Rangos más cortos que este no se dividen. */
+        private static final int UMBRAL_DIVISION = 16;
+        
+        private final Entrada<K, V>[] tabla;
+        private int desde;
+        private final int hasta;
+        /** Cantidad estimada de entradas activas en el rango. */
+        private long estimado;
+        /** Extrae la clave o el valor de cada entrada. */
+        private final Function<Entrada<K, V>, R> extraer;
+        
+        DivisorTabla(Entrada<K, V>[] tabla, int desde, int hasta, long estimado, Function<Entrada<K, V>, R> extraer) {
+            this.tabla = tabla;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.estimado = estimado;
+            this.extraer = extraer;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super R> accion) {
+            while (desde < hasta) {
+                Entrada<K, V> e = tabla[desde++];
+                if (e != null) {
+                    accion.accept(extraer.apply(e));
+                    return true;
+                }
             }
+            return false;
+        }
+        
+        @Override
+        public void forEachRemaining(Consumer<? super R> accion) {
+            for (int i = desde; i < hasta; i++) {
+                Entrada<K, V> e = tabla[i];
+                if (e != null) {
+                    accion.accept(extraer.apply(e));
+                }
+            }
+            desde = hasta;
+        }
+        
+        @Override
+        public Spliterator<R> trySplit() {
+            int longitud = hasta - desde;
+            if (longitud < UMBRAL_DIVISION) return null;
+            int mitad = desde + (longitud >>> 1);
+            estimado >>>= 1;
+            DivisorTabla<K, V, R> prefijo = new DivisorTabla<>(tabla, desde, mitad, estimado, extraer);
+            desde = mitad;
+            return prefijo;
+        }
+        
+        @Override
+        public long estimateSize() {
+            return estimado;
+        }
+        
+        @Override
+        public int characteristics() {
+            return NONNULL;
         }
     }
 }
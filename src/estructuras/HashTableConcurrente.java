@@ -0,0 +1,444 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Tabla de dispersión segura para varios hilos, con la misma interfaz que {@link HashTable}.
+ *
+ * <p>Las escrituras toman uno de {@value #FRANJAS} candados según el hash de la clave
+ * (candados por franjas), así escritores de franjas distintas no se bloquean entre sí.
+ * Las lecturas no toman candados: cada casilla es una lista encadenada de nodos
+ * inmutables que se publica con una escritura volátil, por lo que un lector siempre
+ * ve una cadena completa, la de antes o la de después de cada escritura.</p>
+ *
+ * <p>Como la capacidad es múltiplo de {@value #FRANJAS}, cada franja es dueña de la misma
+ * cantidad de casillas. Por eso la carga se controla por franja: un escritor compara solo
+ * el contador de su franja, multiplicado por {@value #FRANJAS}, sin sumar los demás.
+ * Al redimensionar se toman todas las franjas, se construye un arreglo nuevo con
+ * nodos nuevos y se publica de una vez. Los lectores que ya tenían el arreglo viejo
+ * lo siguen recorriendo sin problemas, porque nunca se vuelve a modificar.</p>
+ *
+ * @author NITRO
+ * @param <K>
+ * @param <V>
+ */
+public class HashTableConcurrente<K, V> implements Tabla<K, V> {
+    private static final double FACTOR_CARGA_MAXIMO = 0.75;
+    /** Cantidad de candados de escritura (potencia de dos). */
+    private static final int FRANJAS = 32;
+    /** Separación entre contadores: 16 enteros son 64 bytes, una línea de caché. */
+    private static final int RELLENO = 16;
+
+    /** Arreglo de casillas vigente; se reemplaza entero al redimensionar. */
+    private volatile AtomicReferenceArray<Nodo<K, V>> tabla;
+    /** Un candado por franja. La franja de una clave son los bits bajos de su hash. */
+    private final Object[] candados;
+    /**
+     * Cantidad de entradas por franja, en las posiciones múltiplo de {@value #RELLENO};
+     * la suma es el tamaño de la tabla. El relleno evita que franjas distintas se
+     * disputen la misma línea de caché.
+     */
+    private final AtomicIntegerArray contadores;
+
+    /**
+     * Nodo inmutable de la cadena de una casilla.
+     */
+    private static final class Nodo<K, V> implements Tabla.Par<K, V> {
+        final K clave;
+        final V valor;
+        final int hash;
+        final Nodo<K, V> siguiente;
+
+        Nodo(K clave, V valor, int hash, Nodo<K, V> siguiente) {
+            this.clave = clave;
+            this.valor = valor;
+            this.hash = hash;
+            this.siguiente = siguiente;
+        }
+        
+        @Override
+        public K getClave() {
+            return clave;
+        }
+        
+        @Override
+        public V getValor() {
+            return valor;
+        }
+    }
+
+    public HashTableConcurrente() {
+        this(16);
+    }
+
+    /**
+     * Crea una tabla con capacidad para al menos la cantidad indicada de entradas
+     * sin redimensionar.
+     * @param capacidadEsperada número de entradas previstas
+     */
+    public HashTableConcurrente(int capacidadEsperada) {
+        int capacidad = FRANJAS;
+        while (capacidad * FACTOR_CARGA_MAXIMO < capacidadEsperada && capacidad < (1 << 30)) {
+            capacidad <<= 1;
+        }
+        tabla = new AtomicReferenceArray<>(capacidad);
+        candados = new Object[FRANJAS];
+        for (int i = 0; i < FRANJAS; i++) candados[i] = new Object();
+        contadores = new AtomicIntegerArray(FRANJAS * RELLENO);
+    }
+
+    /**
+     * Mismo hash mezclado que {@link HashTable}.
+     */
+    private static int hash(Object clave) {
+        int h = clave.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Inserta o actualiza una entrada.
+     * Los nodos anteriores al modificado se copian; los siguientes se comparten.
+     * @param clave
+     * @param valor
+     */
+    @Override
+    public void put(K clave, V valor) {
+        if (clave == null || valor == null) throw new NullPointerException();
+        int h = hash(clave);
+        int franja = h & (FRANJAS - 1);
+        int cuentaFranja = 0;
+        synchronized (candados[franja]) {
+            // Con el candado tomado no puede haber un redimensionamiento en curso
+            AtomicReferenceArray<Nodo<K, V>> t = tabla;
+            int idx = h & (t.length() - 1);
+            Nodo<K, V> cabeza = t.get(idx);
+            Nodo<K, V> existente = buscarEnCadena(cabeza, clave, h);
+            if (existente != null) {
+                t.set(idx, reemplazar(cabeza, existente, new Nodo<>(clave, valor, h, existente.siguiente)));
+            } else {
+                t.set(idx, new Nodo<>(clave, valor, h, cabeza));
+                cuentaFranja = contadores.incrementAndGet(franja * RELLENO);
+            }
+        }
+        if (sobrecargada(cuentaFranja, tabla)) {
+            redimensionar(franja);
+        }
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave sin tomar candados.
+     * @param clave
+     * @return
+     */
+    @Override
+    public V get(K clave) {
+        int h = hash(clave);
+        AtomicReferenceArray<Nodo<K, V>> t = tabla;
+        Nodo<K, V> n = buscarEnCadena(t.get(h & (t.length() - 1)), clave, h);
+        return n == null ? null : n.valor;
+    }
+
+    /**
+     * Verifica si la clave existe.
+     * @param clave
+     * @return
+     */
+    @Override
+    public boolean contieneClave(K clave) {
+        return get(clave) != null;
+    }
+
+    /**
+     * Elimina una clave.
+     * @param clave
+     * @return
+     */
+    @Override
+    public boolean remove(K clave) {
+        int h = hash(clave);
+        int franja = h & (FRANJAS - 1);
+        synchronized (candados[franja]) {
+            AtomicReferenceArray<Nodo<K, V>> t = tabla;
+            int idx = h & (t.length() - 1);
+            Nodo<K, V> cabeza = t.get(idx);
+            Nodo<K, V> existente = buscarEnCadena(cabeza, clave, h);
+            if (existente == null) return false;
+            t.set(idx, reemplazar(cabeza, existente, existente.siguiente));
+            contadores.decrementAndGet(franja * RELLENO);
+            return true;
+        }
+    }
+
+    /**
+     * Devuelve el número de elementos activos.
+     * Con escrituras concurrentes es una foto aproximada.
+     * @return
+     */
+    @Override
+    public int size() {
+        int total = 0;
+        for (int i = 0; i < FRANJAS; i++) total += contadores.get(i * RELLENO);
+        return total;
+    }
+
+    /**
+     * Devuelve todas las claves activas del arreglo vigente.
+     * @return
+     */
+    @Override
+    public ListaEnlazada<K> claves() {
+        ListaEnlazada<K> lista = new ListaEnlazada<>();
+        AtomicReferenceArray<Nodo<K, V>> t = tabla;
+        for (int i = 0; i < t.length(); i++) {
+            for (Nodo<K, V> n = t.get(i); n != null; n = n.siguiente) {
+                lista.agregar(n.clave);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Vista de las claves sobre el arreglo vigente, sin candados ni copias.
+     * Como el resto de los recorridos, es débilmente consistente: cada casilla se lee
+     * una vez y puede reflejar o no las escrituras concurrentes.
+     * @return
+     */
+    @Override
+    public Iterable<K> vistaClaves() {
+        return () -> new Recorrido<K>() {
+            @Override
+            K extraer(Nodo<K, V> n) {
+                return n.clave;
+            }
+        };
+    }
+
+    @Override
+    public Iterable<V> vistaValores() {
+        return () -> new Recorrido<V>() {
+            @Override
+            V extraer(Nodo<K, V> n) {
+                return n.valor;
+            }
+        };
+    }
+
+    /**
+     * Vista de las entradas. Los nodos son inmutables, así que cada par devuelto
+     * conserva el valor que tenía al leerse.
+     * @return
+     */
+    @Override
+    public Iterable<Tabla.Par<K, V>> vistaEntradas() {
+        return () -> new Recorrido<Tabla.Par<K, V>>() {
+            @Override
+            Tabla.Par<K, V> extraer(Nodo<K, V> n) {
+                return n;
+            }
+        };
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> accion) {
+        AtomicReferenceArray<Nodo<K, V>> t = tabla;
+        for (int i = 0; i < t.length(); i++) {
+            for (Nodo<K, V> n = t.get(i); n != null; n = n.siguiente) {
+                accion.accept(n.clave, n.valor);
+            }
+        }
+    }
+
+    @Override
+    public Stream<K> streamClaves(boolean paralelo) {
+        AtomicReferenceArray<Nodo<K, V>> t = tabla;
+        return StreamSupport.stream(new DivisorCasillas<>(t, 0, t.length(), size(), n -> n.clave), paralelo);
+    }
+
+    @Override
+    public Spliterator<V> spliteratorValores() {
+        AtomicReferenceArray<Nodo<K, V>> t = tabla;
+        return new DivisorCasillas<>(t, 0, t.length(), size(), n -> n.valor);
+    }
+
+    // --- Métodos privados ---
+
+    private static <K, V> Nodo<K, V> buscarEnCadena(Nodo<K, V> n, Object clave, int h) {
+        for (; n != null; n = n.siguiente) {
+            if (n.hash == h && n.clave.equals(clave)) return n;
+        }
+        return null;
+    }
+
+    /**
+     * Devuelve una cadena nueva donde {@code objetivo} se sustituye por {@code reemplazo}
+     * (que ya apunta al resto de la cadena). Solo se copian los nodos anteriores.
+     */
+    private static <K, V> Nodo<K, V> reemplazar(Nodo<K, V> cabeza, Nodo<K, V> objetivo, Nodo<K, V> reemplazo) {
+        if (cabeza == objetivo) return reemplazo;
+        return new Nodo<>(cabeza.clave, cabeza.valor, cabeza.hash, reemplazar(cabeza.siguiente, objetivo, reemplazo));
+    }
+
+    /**
+     * Indica si una franja con la cantidad de entradas dada supera el factor de carga
+     * en sus {@code t.length() / FRANJAS} casillas.
+     */
+    private static boolean sobrecargada(int cuentaFranja, AtomicReferenceArray<?> t) {
+        return (long) cuentaFranja * FRANJAS > t.length() * FACTOR_CARGA_MAXIMO;
+    }
+
+    /**
+     * Duplica el arreglo tomando todas las franjas en orden (sin riesgo de interbloqueo).
+     * @param franja Franja que superó el factor de carga.
+     */
+    private void redimensionar(int franja) {
+        bloquearDesde(0, franja);
+    }
+
+    /**
+     * Toma recursivamente los candados desde la franja indicada y, con todos tomados, rehace la tabla.
+     */
+    private void bloquearDesde(int franja, int sobrecargada) {
+        if (franja < FRANJAS) {
+            synchronized (candados[franja]) {
+                bloquearDesde(franja + 1, sobrecargada);
+            }
+            return;
+        }
+        AtomicReferenceArray<Nodo<K, V>> vieja = tabla;
+        // Otro hilo pudo haber redimensionado mientras esperábamos los candados
+        if (!sobrecargada(contadores.get(sobrecargada * RELLENO), vieja) || vieja.length() >= (1 << 30)) return;
+
+        int capacidad = vieja.length() * 2;
+        AtomicReferenceArray<Nodo<K, V>> nueva = new AtomicReferenceArray<>(capacidad);
+        for (int i = 0; i < vieja.length(); i++) {
+            for (Nodo<K, V> n = vieja.get(i); n != null; n = n.siguiente) {
+                int idx = n.hash & (capacidad - 1);
+                // Nodos nuevos: los viejos siguen siendo válidos para los lectores del arreglo anterior
+                nueva.set(idx, new Nodo<>(n.clave, n.valor, n.hash, nueva.get(idx)));
+            }
+        }
+        tabla = nueva;
+    }
+
+    /**
+     * Iterador sobre las cadenas del arreglo vigente al crearlo.
+     */
+    private abstract class Recorrido<R> implements Iterator<R> {
+        private final AtomicReferenceArray<Nodo<K, V>> casillas = tabla;
+        private int indice;
+        /** Próximo nodo a devolver, o null si no quedan. */
+        private Nodo<K, V> siguiente;
+
+        Recorrido() {
+            avanzarCasilla();
+        }
+
+        abstract R extraer(Nodo<K, V> n);
+
+        private void avanzarCasilla() {
+            while (siguiente == null && indice < casillas.length()) {
+                siguiente = casillas.get(indice++);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        public R next() {
+            Nodo<K, V> n = siguiente;
+            if (n == null) throw new NoSuchElementException();
+            siguiente = n.siguiente;
+            avanzarCasilla();
+            return extraer(n);
+        }
+    }
+
+    /**
+     * Recorre un rango de casillas de un arreglo fijo. Dividir parte el rango por la mitad en O(1).
+     */
+    private static class DivisorCasillas<K, V, R> implements Spliterator<R> {
+        private static final int UMBRAL_DIVISION = 16;
+
+        private final AtomicReferenceArray<Nodo<K, V>> tabla;
+        private int desde;
+        private final int hasta;
+        private long estimado;
+        private final Function<Nodo<K, V>, R> extraer;
+        /** Resto de la cadena de la casilla que se está recorriendo. */
+        private Nodo<K, V> pendiente;
+
+        DivisorCasillas(AtomicReferenceArray<Nodo<K, V>> tabla, int desde, int hasta, long estimado,
+                Function<Nodo<K, V>, R> extraer) {
+            this.tabla = tabla;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.estimado = estimado;
+            this.extraer = extraer;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> accion) {
+            while (pendiente == null) {
+                if (desde >= hasta) return false;
+                pendiente = tabla.get(desde++);
+            }
+            Nodo<K, V> n = pendiente;
+            pendiente = n.siguiente;
+            accion.accept(extraer.apply(n));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> accion) {
+            for (Nodo<K, V> n = pendiente; n != null; n = n.siguiente) accion.accept(extraer.apply(n));
+            pendiente = null;
+            for (; desde < hasta; desde++) {
+                for (Nodo<K, V> n = tabla.get(desde); n != null; n = n.siguiente) {
+                    accion.accept(extraer.apply(n));
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            int longitud = hasta - desde;
+            if (longitud < UMBRAL_DIVISION || pendiente != null) return null;
+            int mitad = desde + (longitud >>> 1);
+            estimado >>>= 1;
+            DivisorCasillas<K, V, R> prefijo = new DivisorCasillas<>(tabla, desde, mitad, estimado, extraer);
+            desde = mitad;
+            return prefijo;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimado;
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | CONCURRENT;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Versión inmutable y plana de un {@link ArbolAVL}, para índices que ya no cambian.
+ * Se obtiene con {@link ArbolAVL#congelar()} o con
+ * {@link ArbolAVLPersistente.Instantanea#congelar()}.
+ *
+ * <p>Las claves se guardan en un arreglo con disposición de Eytzinger: la raíz en la
+ * posición 1 y los hijos de k en 2k y 2k+1. La búsqueda recorre el mismo camino que en
+ * un árbol balanceado, pero los primeros niveles quedan juntos en memoria y no hay nodos
+ * que seguir. Los ids de todas las claves están decodificados en un único arreglo,
+ * contiguos por clave en el mismo orden de posiciones.</p>
+ *
+ * @param <T> tipo de clave
+ * @author NITRO
+ */
+public class IndiceCongelado<T extends Comparable<T>> {
+
+    private static final int[] SIN_DOCUMENTOS = new int[0];
+
+    /** Claves en disposición de Eytzinger; la posición 0 no se usa. */
+    private final Object[] claves;
+    /** Ids de la clave en la posición k: documentos[inicio[k]] .. documentos[inicio[k + 1] - 1]. */
+    private final int[] inicio;
+    private final int[] documentos;
+    private final int n;
+
+    /**
+     * Arma el índice a partir de un recorrido inorden.
+     *
+     * @param <T> tipo de clave
+     * @param recorrido entradas ordenadas por clave
+     * @param n cantidad de entradas del recorrido
+     * @return índice con esas claves y documentos
+     */
+    static <T extends Comparable<T>> IndiceCongelado<T> de(Iterable<ArbolAVL.Entrada<T>> recorrido, int n) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArbolAVL.Entrada<T>[] entradas = (ArbolAVL.Entrada<T>[]) new ArbolAVL.Entrada[n];
+        int i = 0;
+        for (ArbolAVL.Entrada<T> e : recorrido) entradas[i++] = e;
+        return new IndiceCongelado<>(entradas, n);
+    }
+
+    /**
+     * Arma el índice a partir de las entradas de un árbol, en orden.
+     *
+     * @param entradas entradas ordenadas por clave
+     * @param n cantidad de entradas
+     */
+    IndiceCongelado(ArbolAVL.Entrada<T>[] entradas, int n) {
+        this.n = n;
+        this.claves = new Object[n + 1];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArbolAVL.Entrada<T>[] porPosicion = (ArbolAVL.Entrada<T>[]) new ArbolAVL.Entrada[n + 1];
+        ubicar(entradas, porPosicion, 1, 0);
+
+        this.inicio = new int[n + 2];
+        int total = 0;
+        for (int k = 1; k <= n; k++) total += porPosicion[k].getDocumentos().size();
+        this.documentos = new int[total];
+        int escritos = 0;
+        for (int k = 1; k <= n; k++) {
+            claves[k] = porPosicion[k].getClave();
+            inicio[k] = escritos;
+            ListaPostings.Cursor cursor = porPosicion[k].getDocumentos().cursor();
+            while (cursor.siguiente()) documentos[escritos++] = cursor.actual();
+        }
+        inicio[n + 1] = escritos;
+    }
+
+    /**
+     * Reparte las entradas ordenadas en la disposición de Eytzinger con un recorrido
+     * inorden del árbol implícito. La recursión llega a profundidad log2(n).
+     *
+     * @return siguiente índice de {@code entradas} por ubicar
+     */
+    private int ubicar(ArbolAVL.Entrada<T>[] entradas, ArbolAVL.Entrada<T>[] porPosicion, int k, int siguiente) {
+        if (k > n) return siguiente;
+        siguiente = ubicar(entradas, porPosicion, 2 * k, siguiente);
+        porPosicion[k] = entradas[siguiente++];
+        return ubicar(entradas, porPosicion, 2 * k + 1, siguiente);
+    }
+
+    /**
+     * Posición de una clave en el arreglo de Eytzinger.
+     * Baja sin saltos condicionales sobre el resultado de la comparación y al final
+     * recupera el último nodo donde se fue a la izquierda (el menor mayor o igual).
+     *
+     * @return posición (1..n) o 0 si la clave no está
+     */
+    @SuppressWarnings("unchecked")
+    private int posicion(T clave) {
+        int k = 1;
+        while (k <= n) {
+            k = 2 * k + (((T) claves[k]).compareTo(clave) < 0 ? 1 : 0);
+        }
+        k >>= Integer.numberOfTrailingZeros(~k) + 1;
+        return k != 0 && ((T) claves[k]).compareTo(clave) == 0 ? k : 0;
+    }
+
+    /**
+     * Devuelve los ids de documentos asociados a una clave, en orden creciente.
+     *
+     * @param clave
+     * @return copia de los ids (arreglo vacío si la clave no existe)
+     */
+    public int[] obtenerDocumentos(T clave) {
+        int k = posicion(clave);
+        if (k == 0) return SIN_DOCUMENTOS;
+        int[] copia = new int[inicio[k + 1] - inicio[k]];
+        System.arraycopy(documentos, inicio[k], copia, 0, copia.length);
+        return copia;
+    }
+
+    /**
+     * Cantidad de documentos asociados a una clave, sin copiar nada.
+     *
+     * @param clave
+     * @return número de documentos, 0 si la clave no existe
+     */
+    public int frecuencia(T clave) {
+        int k = posicion(clave);
+        return k == 0 ? 0 : inicio[k + 1] - inicio[k];
+    }
+
+    /**
+     * Verifica si un documento está asociado a una clave (búsqueda binaria en su tramo).
+     *
+     * @param clave
+     * @param documento id buscado
+     * @return true si el documento aparece para la clave
+     */
+    public boolean contiene(T clave, int documento) {
+        int k = posicion(clave);
+        if (k == 0) return false;
+        int izq = inicio[k], der = inicio[k + 1] - 1;
+        while (izq <= der) {
+            int medio = (izq + der) >>> 1;
+            if (documentos[medio] < documento) izq = medio + 1;
+            else if (documentos[medio] > documento) der = medio - 1;
+            else return true;
+        }
+        return false;
+    }
+
+    /**
+     * Cantidad de claves del índice.
+     *
+     * @return número de claves
+     */
+    public int size() {
+        return n;
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Índice invertido posicional sobre textos completos.
+ * Cada término tiene una {@link ListaPosicional} con los documentos donde aparece y
+ * sus posiciones, lo que permite buscar términos y frases exactas sin leer los textos.
+ *
+ * <p>El índice no tokeniza: recibe los textos ya separados en términos normalizados,
+ * y las consultas deben normalizarse igual. Por cada documento se guarda también su
+ * largo en términos y la lista de sus términos distintos, así quitar un documento
+ * solo toca las listas de sus propios términos.</p>
+ *
+ * @author NITRO
+ */
+public class IndicePosicional {
+
+    private static final int[] SIN_DOCUMENTOS = new int[0];
+
+    /** Código de cada término del vocabulario. */
+    private final HashTable<String, Integer> vocabulario;
+    private String[] terminos;
+    private ListaPosicional[] listas;
+    private int totalTerminos;
+
+    /** Términos distintos de cada documento (por id), o null si no está indexado. */
+    private int[][] terminosDocumento;
+    /** Cantidad de términos de cada documento. */
+    private int[] longitudes;
+    private int documentosIndexados;
+    /** Suma de los largos de los documentos indexados (estadística para BM25). */
+    private long longitudTotal;
+
+    /**
+     * Crea un índice vacío.
+     */
+    public IndicePosicional() {
+        this.vocabulario = new HashTable<>();
+        this.terminos = new String[64];
+        this.listas = new ListaPosicional[64];
+        this.terminosDocumento = new int[16][];
+        this.longitudes = new int[16];
+    }
+
+    // --- Métodos públicos ---
+
+    /**
+     * Indexa un documento. Los ids deben llegar en orden creciente.
+     *
+     * @param documento id del documento
+     * @param tokens términos del texto, en orden
+     * @param n cantidad de términos
+     */
+    public void agregarDocumento(int documento, String[] tokens, int n) {
+        asegurarDocumento(documento);
+
+        // Se ordena (código, posición) empaquetado en un long: quedan agrupadas las
+        // posiciones de cada término y, dentro del grupo, en orden creciente
+        long[] pares = new long[n];
+        for (int i = 0; i < n; i++) {
+            pares[i] = ((long) codificar(tokens[i]) << 32) | i;
+        }
+        Arrays.sort(pares);
+
+        int[] distintos = new int[n];
+        int cantidadDistintos = 0;
+        int[] posiciones = new int[n];
+        int i = 0;
+        while (i < n) {
+            int codigo = (int) (pares[i] >>> 32);
+            int k = 0;
+            while (i < n && (int) (pares[i] >>> 32) == codigo) {
+                posiciones[k++] = (int) pares[i++];
+            }
+            listas[codigo].agregar(documento, posiciones, k);
+            distintos[cantidadDistintos++] = codigo;
+        }
+
+        terminosDocumento[documento] = Arrays.copyOf(distintos, cantidadDistintos);
+        longitudes[documento] = n;
+        longitudTotal += n;
+        documentosIndexados++;
+    }
+
+    /**
+     * Quita un documento del índice, tocando solo las listas de sus términos.
+     * En cada lista se recorta su entrada (ver {@link ListaPosicional#eliminar(int)}).
+     *
+     * @param documento id del documento
+     * @return true si el documento estaba indexado
+     */
+    public boolean eliminarDocumento(int documento) {
+        if (documento < 0 || documento >= terminosDocumento.length || terminosDocumento[documento] == null) {
+            return false;
+        }
+        for (int codigo : terminosDocumento[documento]) {
+            listas[codigo].eliminar(documento);
+        }
+        terminosDocumento[documento] = null;
+        longitudTotal -= longitudes[documento];
+        longitudes[documento] = 0;
+        documentosIndexados--;
+        return true;
+    }
+
+    /**
+     * Documentos que contienen un término.
+     *
+     * @param termino término normalizado
+     * @return ids en orden creciente (vacío si el término no aparece)
+     */
+    public int[] buscarTermino(String termino) {
+        ListaPosicional lista = lista(termino);
+        return lista == null ? SIN_DOCUMENTOS : lista.documentos();
+    }
+
+    /**
+     * Documentos que contienen los términos uno detrás de otro, como frase exacta.
+     * Primero se cruzan las listas por documento, empezando por la más corta, y solo
+     * en los documentos comunes se comparan las posiciones.
+     *
+     * @param tokens términos normalizados de la frase
+     * @param n cantidad de términos
+     * @return ids en orden creciente
+     */
+    public int[] buscarFrase(String[] tokens, int n) {
+        if (n == 0) return SIN_DOCUMENTOS;
+        ListaPosicional.Cursor[] cursores = new ListaPosicional.Cursor[n];
+        int menor = 0;
+        for (int i = 0; i < n; i++) {
+            ListaPosicional lista = lista(tokens[i]);
+            if (lista == null || lista.estaVacia()) return SIN_DOCUMENTOS;
+            cursores[i] = lista.cursor();
+            if (lista.size() < listas[codigo(tokens[menor])].size()) menor = i;
+        }
+
+        int[] resultado = new int[listas[codigo(tokens[menor])].size()];
+        int encontrados = 0;
+        int[][] posiciones = new int[n][];
+        ListaPosicional.Cursor guia = cursores[menor];
+        siguienteDocumento:
+        while (guia.siguiente()) {
+            int documento = guia.documento();
+            for (int i = 0; i < n; i++) {
+                if (i == menor) continue;
+                if (!cursores[i].avanzarHasta(documento)) break siguienteDocumento;
+                if (cursores[i].documento() != documento) continue siguienteDocumento;
+            }
+            for (int i = 0; i < n; i++) posiciones[i] = cursores[i].posiciones(posiciones[i]);
+            if (contieneFrase(cursores, posiciones, n)) resultado[encontrados++] = documento;
+        }
+        return Arrays.copyOf(resultado, encontrados);
+    }
+
+    /**
+     * Veces que aparece un término en un documento.
+     *
+     * @param termino término normalizado
+     * @param documento id del documento
+     * @return frecuencia, 0 si no aparece
+     */
+    public int frecuencia(String termino, int documento) {
+        ListaPosicional lista = lista(termino);
+        if (lista == null) return 0;
+        ListaPosicional.Cursor c = lista.cursor();
+        return c.avanzarHasta(documento) && c.documento() == documento ? c.frecuencia() : 0;
+    }
+
+    /**
+     * Cantidad de documentos que contienen un término.
+     *
+     * @param termino término normalizado
+     * @return frecuencia de documento
+     */
+    public int frecuenciaDocumentos(String termino) {
+        ListaPosicional lista = lista(termino);
+        return lista == null ? 0 : lista.size();
+    }
+
+    /**
+     * Lista posicional de un término, para recorrerla sin copiar.
+     *
+     * @param termino término normalizado
+     * @return lista del término, o null si no está en el vocabulario
+     */
+    public ListaPosicional lista(String termino) {
+        int codigo = codigo(termino);
+        return codigo < 0 ? null : listas[codigo];
+    }
+
+    /**
+     * Largo de un documento en términos.
+     *
+     * @param documento id del documento
+     * @return cantidad de términos, 0 si no está indexado
+     */
+    public int longitudDocumento(int documento) {
+        return documento >= 0 && documento < longitudes.length ? longitudes[documento] : 0;
+    }
+
+    /**
+     * Largo promedio de los documentos indexados, en términos.
+     *
+     * @return promedio, 0 si el índice está vacío
+     */
+    public double longitudPromedio() {
+        return documentosIndexados == 0 ? 0 : (double) longitudTotal / documentosIndexados;
+    }
+
+    /**
+     * Cantidad de documentos indexados.
+     *
+     * @return número de documentos
+     */
+    public int documentosIndexados() {
+        return documentosIndexados;
+    }
+
+    /**
+     * Escribe el índice renumerando los documentos de forma compacta: el id {@code d}
+     * pasa a {@code nuevoId[d]}, y los que tienen -1 se omiten. La renumeración debe
+     * conservar el orden. Las listas en memoria no cambian; si la renumeración es la
+     * identidad se escriben tal cual, sin decodificarlas.
+     *
+     * @param salida flujo de destino
+     * @param nuevoId id en disco de cada id en memoria
+     * @throws IOException si falla la escritura
+     */
+    public void guardar(DataOutputStream salida, int[] nuevoId) throws IOException {
+        int total = 0;
+        for (int id = 0; id < nuevoId.length; id++) {
+            if (nuevoId[id] >= 0) total++;
+        }
+        salida.writeInt(total);
+        for (int id = 0; id < nuevoId.length; id++) {
+            if (nuevoId[id] >= 0) salida.writeInt(longitudDocumento(id));
+        }
+
+        boolean identidad = true;
+        for (int id = 0; id < nuevoId.length && identidad; id++) {
+            identidad = nuevoId[id] == id;
+        }
+
+        int conDocumentos = 0;
+        for (int c = 0; c < totalTerminos; c++) {
+            if (!listas[c].estaVacia()) conDocumentos++;
+        }
+        salida.writeInt(conDocumentos);
+        for (int c = 0; c < totalTerminos; c++) {
+            if (listas[c].estaVacia()) continue;
+            ListaPosicional lista = listas[c];
+            if (!identidad) {
+                lista = lista.copiar();
+                lista.renumerar(id -> id < nuevoId.length ? nuevoId[id] : -1);
+            }
+            salida.writeUTF(terminos[c]);
+            lista.escribir(salida);
+        }
+    }
+
+    /**
+     * Lee un índice escrito con {@link #guardar(DataOutputStream, int[])}.
+     *
+     * @param entrada flujo de origen
+     * @return índice con los ids tal como están en disco
+     * @throws IOException si falla la lectura o los datos no son válidos
+     */
+    public static IndicePosicional cargar(DataInputStream entrada) throws IOException {
+        IndicePosicional indice = new IndicePosicional();
+        int total = entrada.readInt();
+        if (total < 0) throw new IOException("Índice posicional dañado.");
+        indice.asegurarDocumento(total - 1);
+        int[] distintosPorDocumento = new int[Math.max(total, 1)];
+        for (int id = 0; id < total; id++) {
+            indice.longitudes[id] = entrada.readInt();
+            indice.longitudTotal += indice.longitudes[id];
+        }
+
+        int cantidadTerminos = entrada.readInt();
+        for (int t = 0; t < cantidadTerminos; t++) {
+            int codigo = indice.codificar(entrada.readUTF());
+            ListaPosicional lista = ListaPosicional.leer(entrada);
+            indice.listas[codigo] = lista;
+            ListaPosicional.Cursor cursor = lista.cursor();
+            while (cursor.siguiente()) {
+                int id = cursor.documento();
+                if (id >= total) throw new IOException("Índice posicional dañado.");
+                distintosPorDocumento[id]++;
+            }
+        }
+
+        // Términos de cada documento, reconstruidos desde las listas
+        for (int id = 0; id < total; id++) {
+            indice.terminosDocumento[id] = new int[distintosPorDocumento[id]];
+            distintosPorDocumento[id] = 0;
+        }
+        for (int c = 0; c < indice.totalTerminos; c++) {
+            ListaPosicional.Cursor cursor = indice.listas[c].cursor();
+            while (cursor.siguiente()) {
+                int id = cursor.documento();
+                indice.terminosDocumento[id][distintosPorDocumento[id]++] = c;
+            }
+        }
+        indice.documentosIndexados = total;
+        return indice;
+    }
+
+    // --- Métodos privados ---
+
+    private int codigo(String termino) {
+        Integer codigo = vocabulario.get(termino);
+        return codigo == null ? -1 : codigo;
+    }
+
+    private int codificar(String termino) {
+        Integer codigo = vocabulario.get(termino);
+        if (codigo != null) return codigo;
+        if (totalTerminos == terminos.length) {
+            terminos = Arrays.copyOf(terminos, terminos.length * 2);
+            listas = Arrays.copyOf(listas, listas.length * 2);
+        }
+        int nuevo = totalTerminos++;
+        terminos[nuevo] = termino;
+        listas[nuevo] = new ListaPosicional();
+        vocabulario.put(termino, nuevo);
+        return nuevo;
+    }
+
+    private void asegurarDocumento(int documento) {
+        if (documento >= terminosDocumento.length) {
+            int capacidad = Math.max(terminosDocumento.length * 2, documento + 1);
+            terminosDocumento = Arrays.copyOf(terminosDocumento, capacidad);
+            longitudes = Arrays.copyOf(longitudes, capacidad);
+        }
+    }
+
+    /**
+     * Verifica si en el documento actual de los cursores hay una posición p tal que el
+     * término i aparece en p + i para todos los términos de la frase.
+     */
+    private static boolean contieneFrase(ListaPosicional.Cursor[] cursores, int[][] posiciones, int n) {
+        int[] indices = new int[n];
+        int[] cantidades = new int[n];
+        for (int i = 0; i < n; i++) cantidades[i] = cursores[i].frecuencia();
+
+        for (int a = 0; a < cantidades[0]; a++) {
+            int inicio = posiciones[0][a];
+            boolean completa = true;
+            for (int i = 1; i < n && completa; i++) {
+                int buscada = inicio + i;
+                // Las posiciones crecen y el inicio también, así que cada índice solo avanza
+                while (indices[i] < cantidades[i] && posiciones[i][indices[i]] < buscada) indices[i]++;
+                if (indices[i] == cantidades[i]) return false;
+                completa = posiciones[i][indices[i]] == buscada;
+            }
+            if (completa) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Operaciones comunes de las listas del proyecto.
+ * Permite intercambiar la lista enlazada por la lista por bloques sin cambiar
+ * el código que la usa.
+ * 
+ * @param <T> el tipo de elementos que almacena la lista
+ * @author NITRO
+ */
+public interface Lista<T> extends Iterable<T> {
+    
+    /**
+     * Agrega un elemento al final de la lista.
+     * 
+     * @param elemento el dato que se desea agregar
+     */
+    void agregar(T elemento);
+    
+    /**
+     * Agrega al final todos los elementos recibidos, conservando su orden.
+     * 
+     * @param elementos los datos que se desean agregar
+     */
+    void agregarTodos(Iterable<? extends T> elementos);
+    
+    /**
+     * Obtiene el elemento en la posición indicada.
+     * 
+     * @param indice la posición del elemento (comenzando en 0)
+     * @return el elemento en la posición dada
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango
+     */
+    T obtener(int indice);
+    
+    /**
+     * Verifica si la lista contiene un elemento específico.
+     * 
+     * @param elemento el dato a buscar
+     * @return true si el elemento está en la lista, false en caso contrario
+     */
+    boolean contiene(T elemento);
+    
+    /**
+     * Elimina la primera aparición del elemento especificado.
+     * 
+     * @param elemento el dato a eliminar
+     * @return true si se eliminó correctamente, false si no se encontró
+     */
+    boolean eliminar(T elemento);
+    
+    /**
+     * Calcula el número de elementos en la lista.
+     * 
+     * @return cantidad de elementos 
+     */
+    int size();
+    
+    /**
+     * Verifica si la lista está vacía.
+     * 
+     * @return true si no contiene elementos, false en caso contrario 
+     */
+    boolean estaVacia();
+    
+    /**
+     * Devuelve un flujo secuencial sobre los elementos de la lista.
+     * 
+     * @return flujo secuencial
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    /**
+     * Devuelve un flujo paralelo sobre los elementos de la lista.
+     * El reparto de trabajo entre hilos depende del {@code Spliterator} de cada implementación.
+     * 
+     * @return flujo paralelo
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+    
+    /**
+     * Crea una lista enlazada simple (un nodo por elemento).
+     * 
+     * @param <T> el tipo de elementos
+     * @return una lista enlazada vacía
+     */
+    static <T> Lista<T> enlazada() {
+        return new ListaEnlazada<>();
+    }
+    
+    /**
+     * Crea una lista por bloques (arreglos de tamaño fijo encadenados).
+     * Recomendada para listas largas que se recorren o indexan con frecuencia.
+     * 
+     * @param <T> el tipo de elementos
+     * @return una lista por bloques vacía
+     */
+    static <T> Lista<T> porBloques() {
+        return new ListaBloques<>();
+    }
+}
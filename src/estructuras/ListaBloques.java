@@ -0,0 +1,327 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Lista desenrollada: guarda los elementos en bloques (arreglos) de tamaño fijo.
+ * Cada bloque agrupa varios elementos, por lo que se evita crear un nodo por
+ * elemento y el recorrido accede a memoria contigua.
+ *
+ * <p>Mientras no se eliminen elementos, todos los bloques salvo el último están
+ * llenos y {@link #obtener(int)} es O(1). Después de eliminar, el acceso por índice
+ * recorre el directorio de bloques, es decir O(n / tamañoBloque).</p>
+ *
+ * @param <T> el tipo de elementos que almacena la lista
+ * @author NITRO
+ */
+public class ListaBloques<T> implements Lista<T> {
+
+    /** Tamaño de bloque por defecto. */
+    private static final int TAMANO_BLOQUE = 64;
+    /** Capacidad inicial del arreglo de un bloque nuevo; crece al doble hasta llenar el bloque. */
+    private static final int CAPACIDAD_INICIAL_BLOQUE = 4;
+
+    /** Directorio de bloques; sólo las primeras {@code numBloques} posiciones son válidas. */
+    private Object[][] bloques;
+    /** Cantidad de elementos ocupados en cada bloque. */
+    private int[] ocupados;
+    /** Número de bloques en uso. */
+    private int numBloques;
+    /** Capacidad de cada bloque. */
+    private final int tamanoBloque;
+    /** Número de elementos almacenados en la lista. */
+    private int size;
+    /** Indica si todos los bloques, salvo el último, están llenos. */
+    private boolean compacta;
+
+    /**
+     * Crea una lista vacía con el tamaño de bloque por defecto.
+     */
+    public ListaBloques() {
+        this(TAMANO_BLOQUE);
+    }
+
+    /**
+     * Crea una lista vacía con el tamaño de bloque indicado.
+     *
+     * @param tamanoBloque cantidad de elementos por bloque (mayor que cero)
+     */
+    public ListaBloques(int tamanoBloque) {
+        if (tamanoBloque <= 0) {
+            throw new IllegalArgumentException("Tamaño de bloque inválido: " + tamanoBloque);
+        }
+        this.tamanoBloque = tamanoBloque;
+        this.bloques = new Object[4][];
+        this.ocupados = new int[4];
+        this.numBloques = 0;
+        this.size = 0;
+        this.compacta = true;
+    }
+
+    @Override
+    public void agregar(T elemento) {
+        if (numBloques == 0 || ocupados[numBloques - 1] == tamanoBloque) {
+            nuevoBloque();
+        }
+        int ultimo = numBloques - 1;
+        if (ocupados[ultimo] == bloques[ultimo].length) {
+            // Listas cortas (lo más común en el índice) no reservan un bloque completo
+            bloques[ultimo] = Arrays.copyOf(bloques[ultimo], Math.min(tamanoBloque, ocupados[ultimo] * 2));
+        }
+        bloques[ultimo][ocupados[ultimo]++] = elemento;
+        size++;
+    }
+
+    @Override
+    public void agregarTodos(Iterable<? extends T> elementos) {
+        for (T elemento : elementos) {
+            agregar(elemento);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T obtener(int indice) {
+        validarIndice(indice);
+        if (compacta) {
+            return (T) bloques[indice / tamanoBloque][indice % tamanoBloque];
+        }
+        int b = 0;
+        while (indice >= ocupados[b]) {
+            indice -= ocupados[b];
+            b++;
+        }
+        return (T) bloques[b][indice];
+    }
+
+    @Override
+    public boolean contiene(T elemento) {
+        for (int b = 0; b < numBloques; b++) {
+            Object[] bloque = bloques[b];
+            for (int i = 0; i < ocupados[b]; i++) {
+                if (bloque[i].equals(elemento)) return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean eliminar(T elemento) {
+        for (int b = 0; b < numBloques; b++) {
+            Object[] bloque = bloques[b];
+            int n = ocupados[b];
+            for (int i = 0; i < n; i++) {
+                if (bloque[i].equals(elemento)) {
+                    // Desplaza sólo dentro del bloque afectado
+                    System.arraycopy(bloque, i + 1, bloque, i, n - i - 1);
+                    bloque[n - 1] = null;
+                    ocupados[b]--;
+                    size--;
+                    if (ocupados[b] == 0) {
+                        quitarBloque(b);
+                    } else if (b != numBloques - 1) {
+                        compacta = false;
+                    }
+                    if (size == 0) compacta = true;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean estaVacia() {
+        return size == 0;
+    }
+
+    /**
+     * Agrega un bloque vacío al final del directorio, ampliándolo si hace falta.
+     */
+    private void nuevoBloque() {
+        if (numBloques == bloques.length) {
+            Object[][] nuevos = new Object[bloques.length * 2][];
+            int[] nuevosOcupados = new int[bloques.length * 2];
+            System.arraycopy(bloques, 0, nuevos, 0, numBloques);
+            System.arraycopy(ocupados, 0, nuevosOcupados, 0, numBloques);
+            bloques = nuevos;
+            ocupados = nuevosOcupados;
+        }
+        bloques[numBloques] = new Object[Math.min(tamanoBloque, CAPACIDAD_INICIAL_BLOQUE)];
+        ocupados[numBloques] = 0;
+        numBloques++;
+    }
+
+    /**
+     * Quita un bloque vacío del directorio.
+     *
+     * @param b posición del bloque a quitar
+     */
+    private void quitarBloque(int b) {
+        boolean eraUltimo = b == numBloques - 1;
+        System.arraycopy(bloques, b + 1, bloques, b, numBloques - b - 1);
+        System.arraycopy(ocupados, b + 1, ocupados, b, numBloques - b - 1);
+        numBloques--;
+        bloques[numBloques] = null;
+        ocupados[numBloques] = 0;
+        // Si el bloque quitado era intermedio el resto sigue igual de lleno que antes;
+        // sólo al quitar el último puede quedar un bloque parcial en el medio que ahora es el final
+        if (eraUltimo && numBloques > 0 && !compacta) {
+            compacta = verificarCompacta();
+        }
+    }
+
+    /**
+     * Revisa si todos los bloques, salvo el último, están llenos.
+     *
+     * @return true si el acceso por índice puede calcularse directamente
+     */
+    private boolean verificarCompacta() {
+        for (int b = 0; b < numBloques - 1; b++) {
+            if (ocupados[b] != tamanoBloque) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Verifica que el índice proporcionado esté dentro de los límites válidos de la lista.
+     *
+     * @param indice el índice que se desea validar
+     * @throws IndexOutOfBoundsException si el índice está fuera del rango permitido
+     */
+    private void validarIndice(int indice) {
+        if (indice < 0 || indice >= size) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + indice);
+        }
+    }
+
+    /**
+     * Devuelve un iterador que recorre los bloques en orden.
+     *
+     * @return un iterador de tipo T
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            /** Bloque actual del recorrido. */
+            private int bloque = 0;
+            /** Posición dentro del bloque actual. */
+            private int posicion = 0;
+
+            @Override
+            public boolean hasNext() {
+                return bloque < numBloques && posicion < ocupados[bloque];
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                T dato = (T) bloques[bloque][posicion++];
+                if (posicion == ocupados[bloque]) {
+                    bloque++;
+                    posicion = 0;
+                }
+                return dato;
+            }
+        };
+    }
+
+    /**
+     * Devuelve un divisor que reparte la lista por bloques completos.
+     *
+     * @return un spliterator balanceado por bloques
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new DivisorBloques(0, 0, numBloques, size);
+    }
+
+    /**
+     * Divisor que recorre un rango de bloques. Divide por el bloque central,
+     * así cada mitad es contigua en memoria y su tamaño se conoce exactamente.
+     */
+    private class DivisorBloques implements Spliterator<T> {
+        /** Bloque actual. */
+        private int bloque;
+        /** Posición dentro del bloque actual. */
+        private int posicion;
+        /** Primer bloque que ya no pertenece a este divisor. */
+        private final int bloqueFin;
+        /** Elementos que faltan por entregar. */
+        private int restantes;
+
+        DivisorBloques(int bloque, int posicion, int bloqueFin, int restantes) {
+            this.bloque = bloque;
+            this.posicion = posicion;
+            this.bloqueFin = bloqueFin;
+            this.restantes = restantes;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            if (restantes == 0) return false;
+            T dato = (T) bloques[bloque][posicion++];
+            if (posicion == ocupados[bloque]) {
+                bloque++;
+                posicion = 0;
+            }
+            restantes--;
+            accion.accept(dato);
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> accion) {
+            for (; bloque < bloqueFin; bloque++) {
+                Object[] datos = bloques[bloque];
+                int n = ocupados[bloque];
+                for (; posicion < n; posicion++) {
+                    accion.accept((T) datos[posicion]);
+                }
+                posicion = 0;
+            }
+            restantes = 0;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (bloqueFin - bloque < 2) return null;
+            int mitad = (bloque + bloqueFin) >>> 1;
+            int enPrefijo = -posicion;
+            for (int b = bloque; b < mitad; b++) {
+                enPrefijo += ocupados[b];
+            }
+            DivisorBloques prefijo = new DivisorBloques(bloque, posicion, mitad, enPrefijo);
+            bloque = mitad;
+            posicion = 0;
+            restantes -= enPrefijo;
+            return prefijo;
+        }
+
+        @Override
+        public long estimateSize() {
+            return restantes;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+}
@@ -5,6 +5,8 @@
 package estructuras;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * Implementación de una lista enlazada simple como reemplazo de ArrayList.
@@ -13,10 +15,12 @@ import java.util.NoSuchElementException;
  * @param <T> el tipo de elementos que almacena la lista
  * @author NITRO
  */
-public class ListaEnlazada<T> implements Iterable<T> {
+public class ListaEnlazada<T> implements Lista<T> {
     
     /** Nodo inicial de la lista. */
     private Nodo<T> head;
+    /** Último nodo de la lista, permite agregar al final en O(1). */
+    private Nodo<T> tail;
     /** Número de elementos almacenados en la lista. */
     private int size;
     
@@ -26,34 +30,90 @@ public class ListaEnlazada<T> implements Iterable<T> {
      */
     public ListaEnlazada(){
         head = null;
+        tail = null;
         size = 0;
     }
     
     /**
-     * Agrega un elemento al final de la lista.
+     * Agrega un elemento al final de la lista en O(1) usando la referencia a la cola.
      * 
      * @param elemento el dato que se desea agregar
      */
+    @Override
     public void agregar(T elemento) {
         Nodo<T> nuevo = new Nodo<>(elemento);
         if (head == null){
             head = nuevo;
         } else {
-            Nodo<T> actual = head;
-            while (actual.siguiente != null) {
-                actual = actual.siguiente;
-            }
-            actual.siguiente = nuevo;
+            tail.siguiente = nuevo;
         }
+        tail = nuevo;
         size++;
     }
     
+    /**
+     * Agrega al final todos los elementos de otra colección, conservando su orden.
+     * Los nodos se encadenan localmente y se enlazan a la cola una sola vez.
+     * 
+     * @param elementos los datos que se desean agregar
+     */
+    @Override
+    public void agregarTodos(Iterable<? extends T> elementos) {
+        Nodo<T> primero = null;
+        Nodo<T> ultimo = null;
+        int agregados = 0;
+        for (T elemento : elementos) {
+            Nodo<T> nuevo = new Nodo<>(elemento);
+            if (primero == null) {
+                primero = nuevo;
+            } else {
+                ultimo.siguiente = nuevo;
+            }
+            ultimo = nuevo;
+            agregados++;
+        }
+        if (primero == null) return;
+        enlazarAlFinal(primero, ultimo, agregados);
+    }
+    
+    /**
+     * Mueve todos los nodos de otra lista al final de esta en O(1), sin copiarlos.
+     * La lista recibida queda vacía después de la operación.
+     * 
+     * @param otra la lista cuyos nodos se trasladan a esta
+     */
+    public void concatenar(ListaEnlazada<T> otra) {
+        if (otra == null || otra == this || otra.head == null) return;
+        enlazarAlFinal(otra.head, otra.tail, otra.size);
+        otra.head = null;
+        otra.tail = null;
+        otra.size = 0;
+    }
+    
+    /**
+     * Enlaza una cadena de nodos ya construida al final de la lista.
+     * 
+     * @param primero primer nodo de la cadena
+     * @param ultimo último nodo de la cadena
+     * @param cantidad número de nodos de la cadena
+     */
+    private void enlazarAlFinal(Nodo<T> primero, Nodo<T> ultimo, int cantidad) {
+        if (head == null) {
+            head = primero;
+        } else {
+            tail.siguiente = primero;
+        }
+        tail = ultimo;
+        size += cantidad;
+    }
+    
     /**
      * Obtiene el elemento en la posición indicada.
      * 
      * @param indice la posición del elemento (comenzando en 0)
      * @return el elemento en la posición dada, o null si no existe
      */
+    @Override
     public T obtener(int indice) {
         validarIndice(indice);
         Nodo<T> actual = head;
@@ -69,6 +129,7 @@ public class ListaEnlazada<T> implements Iterable<T> {
      * @param elemento el dato a buscar
      * @return true si el elemento está en la lista, false en caso contrario
      */
+    @Override
     public boolean contiene(T elemento) {
         for (T dato : this){
             if (dato.equals(elemento)) return true;
@@ -82,15 +143,19 @@ public class ListaEnlazada<T> implements Iterable<T> {
      * @param elemento el dato a eliminar
      * @return true si se eliminó correctamente, false si no se encontró
      */
+    @Override
     public boolean eliminar(T elemento) {
         if (head == null) return false;
         if (head.dato.equals(elemento)) {
             head = head.siguiente;
+            if (head == null) tail = null;
             size--;
+            return true;
         }
         Nodo<T> actual = head;
         while (actual.siguiente != null) {
             if (actual.siguiente.dato.equals(elemento)) {
+                if (actual.siguiente == tail) tail = actual;
                 actual.siguiente = actual.siguiente.siguiente;
                 size--;
                 return true;
@@ -105,6 +170,7 @@ public class ListaEnlazada<T> implements Iterable<T> {
      * 
      * @return cantidad de elementos 
      */
+    @Override
     public int size() {
         return size;
     }
@@ -114,6 +180,7 @@ public class ListaEnlazada<T> implements Iterable<T> {
      * 
      * @return true si no contiene elementos, false en caso contrario 
      */
+    @Override
     public boolean estaVacia() {
         return size == 0;
     }
@@ -167,4 +234,79 @@ public class ListaEnlazada<T> implements Iterable<T> {
             }
         };
     }
+    
+    /**
+     * Devuelve un divisor para recorrer la lista con flujos paralelos.
+     * 
+     * @return un spliterator que conoce el tamaño exacto de cada mitad
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new DivisorLista<>(head, size);
+    }
+    
+    /**
+     * Divisor de la lista enlazada que aprovecha el tamaño conocido.
+     * Al dividir avanza hasta la mitad de los elementos restantes, de modo que
+     * ambas partes quedan balanceadas y con tamaño exacto.
+     * 
+     * @param <T> el tipo de elementos de la lista
+     */
+    private static class DivisorLista<T> implements Spliterator<T> {
+        /** Por debajo de esta cantidad no vale la pena dividir. */
+        private static final int UMBRAL_DIVISION = 32;
+        
+        /** Siguiente nodo a entregar. */
+        private Nodo<T> actual;
+        /** Elementos que faltan por entregar. */
+        private int restantes;
+        
+        DivisorLista(Nodo<T> inicio, int restantes) {
+            this.actual = inicio;
+            this.restantes = restantes;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            if (restantes == 0) return false;
+            T dato = actual.dato;
+            actual = actual.siguiente;
+            restantes--;
+            accion.accept(dato);
+            return true;
+        }
+        
+        @Override
+        public void forEachRemaining(Consumer<? super T> accion) {
+            Nodo<T> nodo = actual;
+            for (int i = restantes; i > 0; i--) {
+                accion.accept(nodo.dato);
+                nodo = nodo.siguiente;
+            }
+            actual = nodo;
+            restantes = 0;
+        }
+        
+        @Override
+        public Spliterator<T> trySplit() {
+            if (restantes < UMBRAL_DIVISION) return null;
+            int mitad = restantes >>> 1;
+            Nodo<T> inicioPrefijo = actual;
+            for (int i = 0; i < mitad; i++) {
+                actual = actual.siguiente;
+            }
+            restantes -= mitad;
+            return new DivisorLista<>(inicioPrefijo, mitad);
+        }
+        
+        @Override
+        public long estimateSize() {
+            return restantes;
+        }
+        
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
 }
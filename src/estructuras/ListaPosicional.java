@@ -0,0 +1,360 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Lista de postings con posiciones: para cada documento guarda en qué posiciones
+ * (número de palabra dentro del texto) aparece el término. Es lo que necesitan las
+ * consultas de frase exacta.
+ *
+ * <p>Igual que {@link ListaPostings} todo va en un único arreglo de bytes con varints:
+ * por documento, la diferencia con el id anterior, la cantidad de posiciones y las
+ * posiciones como diferencias. Los documentos se agregan en orden creciente de id.</p>
+ *
+ * @author NITRO
+ */
+public class ListaPosicional {
+
+    private byte[] datos;
+    private int longitud;
+    /** Número de documentos de la lista. */
+    private int cantidad;
+    /** Último id agregado, o -1 si la lista está vacía. */
+    private int ultimo;
+
+    /**
+     * Crea una lista vacía.
+     */
+    public ListaPosicional() {
+        this.datos = new byte[8];
+        this.longitud = 0;
+        this.cantidad = 0;
+        this.ultimo = -1;
+    }
+
+    /**
+     * Agrega un documento con sus posiciones al final de la lista.
+     *
+     * @param documento id mayor que el último agregado
+     * @param posiciones posiciones en orden creciente
+     * @param n cantidad de posiciones (al menos una)
+     * @throws IllegalArgumentException si el id no es mayor que el último
+     */
+    public void agregar(int documento, int[] posiciones, int n) {
+        if (documento <= ultimo) {
+            throw new IllegalArgumentException("Los documentos deben agregarse en orden creciente: " + documento);
+        }
+        escribirVarint(documento - ultimo);
+        escribirVarint(n);
+        int anterior = -1;
+        for (int i = 0; i < n; i++) {
+            escribirVarint(posiciones[i] - anterior);
+            anterior = posiciones[i];
+        }
+        ultimo = documento;
+        cantidad++;
+    }
+
+    /**
+     * Quita un documento recortando su entrada de los bytes. Se recorre la lista hasta
+     * él saltando las posiciones sin decodificarlas; su diferencia se suma a la del
+     * documento siguiente y el resto se corre en el mismo arreglo.
+     *
+     * @param documento id a quitar
+     * @return true si estaba en la lista
+     */
+    public boolean eliminar(int documento) {
+        if (documento > ultimo || documento < 0) return false;
+        Cursor c = cursor();
+        if (!c.avanzarHasta(documento) || c.documento != documento) return false;
+
+        int inicio = c.inicioActual;
+        int previo = c.anterior;
+        int fin;
+        byte[] union = new byte[5];
+        int largoUnion = 0;
+        if (c.siguiente()) {
+            // La entrada siguiente conserva todo salvo su diferencia de id
+            fin = c.inicioActual;
+            while (datos[fin++] < 0) { }
+            int valor = c.documento - previo;
+            while ((valor & ~0x7F) != 0) {
+                union[largoUnion++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            union[largoUnion++] = (byte) valor;
+        } else {
+            fin = longitud;
+            ultimo = previo;
+        }
+        int resto = longitud - fin;
+        System.arraycopy(datos, fin, datos, inicio + largoUnion, resto);
+        System.arraycopy(union, 0, datos, inicio, largoUnion);
+        longitud = inicio + largoUnion + resto;
+        cantidad--;
+        return true;
+    }
+
+    /**
+     * Cambia los ids de todos los documentos según una función creciente, descartando
+     * los que se mapean a -1. Se usa para compactar ids antes de guardar en disco.
+     *
+     * @param nuevoId función de renumeración (debe conservar el orden)
+     * @return true si algún documento se descartó
+     */
+    public boolean renumerar(IntUnaryOperator nuevoId) {
+        byte[] anteriores = datos;
+        int fin = longitud;
+        datos = new byte[Math.max(8, longitud)];
+        longitud = 0;
+        cantidad = 0;
+        ultimo = -1;
+
+        boolean descartado = false;
+        int[] posiciones = new int[8];
+        int posicion = 0, id = -1;
+        int[] leido = new int[1];
+        while (posicion < fin) {
+            posicion = leerVarint(anteriores, posicion, leido);
+            id += leido[0];
+            posicion = leerVarint(anteriores, posicion, leido);
+            int n = leido[0];
+            if (n > posiciones.length) posiciones = new int[n];
+            int p = -1;
+            for (int i = 0; i < n; i++) {
+                posicion = leerVarint(anteriores, posicion, leido);
+                p += leido[0];
+                posiciones[i] = p;
+            }
+            int nuevo = nuevoId.applyAsInt(id);
+            if (nuevo < 0) {
+                descartado = true;
+            } else {
+                agregar(nuevo, posiciones, n);
+            }
+        }
+        return descartado;
+    }
+
+    /**
+     * Copia independiente de la lista, para renumerarla sin tocar la original.
+     *
+     * @return lista nueva con los mismos bytes
+     */
+    ListaPosicional copiar() {
+        ListaPosicional copia = new ListaPosicional();
+        copia.datos = Arrays.copyOf(datos, Math.max(8, longitud));
+        copia.longitud = longitud;
+        copia.cantidad = cantidad;
+        copia.ultimo = ultimo;
+        return copia;
+    }
+
+    /**
+     * Número de documentos de la lista.
+     *
+     * @return cantidad de documentos
+     */
+    public int size() {
+        return cantidad;
+    }
+
+    /**
+     * Verifica si la lista está vacía.
+     *
+     * @return true si no tiene documentos
+     */
+    public boolean estaVacia() {
+        return cantidad == 0;
+    }
+
+    /**
+     * Ids de los documentos de la lista, en orden creciente.
+     *
+     * @return arreglo nuevo con los ids
+     */
+    public int[] documentos() {
+        int[] ids = new int[cantidad];
+        Cursor c = cursor();
+        for (int i = 0; c.siguiente(); i++) ids[i] = c.documento();
+        return ids;
+    }
+
+    /**
+     * Crea un cursor posicionado antes del primer documento.
+     *
+     * @return cursor nuevo
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Escribe la lista tal como está en memoria (bytes ya comprimidos).
+     *
+     * @param salida flujo de destino
+     * @throws IOException si falla la escritura
+     */
+    public void escribir(DataOutputStream salida) throws IOException {
+        salida.writeInt(cantidad);
+        salida.writeInt(ultimo);
+        salida.writeInt(longitud);
+        salida.write(datos, 0, longitud);
+    }
+
+    /**
+     * Lee una lista escrita con {@link #escribir(DataOutputStream)}.
+     *
+     * @param entrada flujo de origen
+     * @return lista leída
+     * @throws IOException si falla la lectura o los datos no son válidos
+     */
+    public static ListaPosicional leer(DataInputStream entrada) throws IOException {
+        ListaPosicional lista = new ListaPosicional();
+        lista.cantidad = entrada.readInt();
+        lista.ultimo = entrada.readInt();
+        lista.longitud = entrada.readInt();
+        if (lista.cantidad < 0 || lista.longitud < 0) throw new IOException("Lista posicional dañada.");
+        lista.datos = new byte[Math.max(8, lista.longitud)];
+        entrada.readFully(lista.datos, 0, lista.longitud);
+        return lista;
+    }
+
+    // --- Métodos privados ---
+
+    private void escribirVarint(int valor) {
+        if (longitud + 5 > datos.length) {
+            datos = Arrays.copyOf(datos, Math.max(datos.length * 2, longitud + 5));
+        }
+        while ((valor & ~0x7F) != 0) {
+            datos[longitud++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        datos[longitud++] = (byte) valor;
+    }
+
+    /**
+     * Decodifica un varint.
+     *
+     * @return posición siguiente; el valor queda en {@code valor[0]}
+     */
+    private static int leerVarint(byte[] bytes, int posicion, int[] valor) {
+        int resultado = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = bytes[posicion++];
+            resultado |= (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while (b < 0);
+        valor[0] = resultado;
+        return posicion;
+    }
+
+    /**
+     * Recorrido por documento. Las posiciones del documento actual se decodifican solo
+     * si se piden; si no, {@link #siguiente()} las salta.
+     */
+    public class Cursor {
+        private int posicion;
+        private int indice;
+        private int documento = -1;
+        private int frecuencia;
+        /** Posición en bytes donde empiezan las posiciones del documento actual. */
+        private int inicioPosiciones;
+        /** Posición en bytes donde empieza la entrada del documento actual. */
+        private int inicioActual;
+        /** Id del documento anterior al actual (-1 si es el primero). */
+        private int anterior;
+        private final int[] leido = new int[1];
+
+        private Cursor() {
+        }
+
+        /**
+         * Avanza al siguiente documento.
+         *
+         * @return true si hay documento actual
+         */
+        public boolean siguiente() {
+            if (indice > 0 && indice <= cantidad) {
+                // Saltar las posiciones del documento anterior
+                posicion = inicioPosiciones;
+                for (int i = 0; i < frecuencia; i++) {
+                    while (datos[posicion++] < 0) { }
+                }
+            }
+            if (indice >= cantidad) {
+                indice = cantidad + 1;
+                return false;
+            }
+            anterior = documento;
+            inicioActual = posicion;
+            posicion = leerVarint(datos, posicion, leido);
+            documento += leido[0];
+            posicion = leerVarint(datos, posicion, leido);
+            frecuencia = leido[0];
+            inicioPosiciones = posicion;
+            indice++;
+            return true;
+        }
+
+        /**
+         * Avanza hasta el primer documento con id mayor o igual que {@code objetivo}.
+         *
+         * @param objetivo id mínimo
+         * @return true si existe tal documento (queda como actual)
+         */
+        public boolean avanzarHasta(int objetivo) {
+            if (indice > 0 && indice <= cantidad && documento >= objetivo) return true;
+            while (siguiente()) {
+                if (documento >= objetivo) return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return id del documento actual
+         * @throws NoSuchElementException si el cursor no está sobre un documento
+         */
+        public int documento() {
+            if (indice == 0 || indice > cantidad) throw new NoSuchElementException();
+            return documento;
+        }
+
+        /**
+         * @return cantidad de veces que aparece el término en el documento actual
+         */
+        public int frecuencia() {
+            if (indice == 0 || indice > cantidad) throw new NoSuchElementException();
+            return frecuencia;
+        }
+
+        /**
+         * Decodifica las posiciones del documento actual.
+         *
+         * @param destino arreglo a reutilizar; si es chico se crea otro
+         * @return arreglo con las primeras {@link #frecuencia()} entradas llenas
+         */
+        public int[] posiciones(int[] destino) {
+            int n = frecuencia();
+            if (destino == null || destino.length < n) destino = new int[n];
+            int p = inicioPosiciones, actual = -1;
+            for (int i = 0; i < n; i++) {
+                p = leerVarint(datos, p, leido);
+                actual += leido[0];
+                destino[i] = actual;
+            }
+            return destino;
+        }
+    }
+}
@@ -0,0 +1,419 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Lista ordenada y comprimida de identificadores de documento (posting list).
+ * Los identificadores se guardan en orden creciente como diferencias (deltas)
+ * codificadas en varint: 7 bits por byte, el bit alto indica que sigue otro byte.
+ * Para ids densos la mayoría de las entradas ocupan un solo byte.
+ *
+ * <p>Cada {@value #INTERVALO_SALTO} entradas se guarda un punto de salto
+ * (id anterior y posición en bytes), lo que permite a {@link Cursor#avanzarHasta(int)}
+ * saltar bloques completos sin decodificarlos.</p>
+ *
+ * @author NITRO
+ */
+public class ListaPostings {
+
+    /** Cada cuántas entradas se registra un punto de salto. */
+    static final int INTERVALO_SALTO = 64;
+
+    /** Bytes con las diferencias codificadas. */
+    private byte[] datos;
+    /** Cantidad de bytes usados en {@code datos}. */
+    private int longitud;
+    /** Número de identificadores almacenados. */
+    private int cantidad;
+    /** Último identificador agregado, o -1 si la lista está vacía. */
+    private int ultimo;
+    /** Id previo a cada punto de salto (el delta de esa entrada se calcula contra él). */
+    private int[] saltoPrevio;
+    /** Posición en bytes de cada punto de salto. */
+    private int[] saltoPosicion;
+    /** Las instantáneas comparten los arreglos de otra lista y no se pueden modificar. */
+    private final boolean soloLectura;
+
+    /**
+     * Crea una lista de postings vacía.
+     */
+    public ListaPostings() {
+        this.datos = new byte[4];
+        this.longitud = 0;
+        this.cantidad = 0;
+        this.ultimo = -1;
+        this.saltoPrevio = new int[0];
+        this.saltoPosicion = new int[0];
+        this.soloLectura = false;
+    }
+
+    /**
+     * Crea una instantánea de solo lectura que comparte los arreglos de {@code origen}.
+     */
+    private ListaPostings(ListaPostings origen) {
+        this.datos = origen.datos;
+        this.longitud = origen.longitud;
+        this.cantidad = origen.cantidad;
+        this.ultimo = origen.ultimo;
+        this.saltoPrevio = origen.saltoPrevio;
+        this.saltoPosicion = origen.saltoPosicion;
+        this.soloLectura = true;
+    }
+
+    /**
+     * Agrega un identificador de documento. Si es mayor que el último se agrega
+     * al final en O(1); si ya existe no se hace nada; si es menor se reconstruye
+     * la lista para mantener el orden.
+     *
+     * @param documento id del documento (no negativo)
+     * @return true si se agregó, false si ya estaba en la lista
+     * @throws UnsupportedOperationException si la lista es una instantánea
+     */
+    public boolean agregar(int documento) {
+        if (soloLectura) {
+            throw new UnsupportedOperationException("La instantánea de una lista de postings es de solo lectura.");
+        }
+        if (documento < 0) {
+            throw new IllegalArgumentException("Id de documento inválido: " + documento);
+        }
+        if (documento > ultimo) {
+            agregarAlFinal(documento);
+            return true;
+        }
+        if (contiene(documento)) return false;
+
+        // Inserción fuera de orden: poco frecuente, se reconstruye la lista
+        int[] ids = aArreglo();
+        int pos = -(Arrays.binarySearch(ids, documento) + 1);
+        reiniciar();
+        for (int i = 0; i < pos; i++) agregarAlFinal(ids[i]);
+        agregarAlFinal(documento);
+        for (int i = pos; i < ids.length; i++) agregarAlFinal(ids[i]);
+        return true;
+    }
+
+    /**
+     * Quita un identificador de la lista. La entrada se ubica con los puntos de salto y
+     * se recorta de los bytes: su diferencia se suma a la de la entrada siguiente, y lo
+     * demás se copia sin decodificar a un arreglo nuevo (así las instantáneas no
+     * cambian). Los puntos de salto posteriores se corren una entrada leyendo un solo
+     * varint por bloque.
+     *
+     * @param documento id a quitar
+     * @return true si estaba en la lista
+     * @throws UnsupportedOperationException si la lista es una instantánea
+     */
+    public boolean eliminar(int documento) {
+        if (soloLectura) {
+            throw new UnsupportedOperationException("La instantánea de una lista de postings es de solo lectura.");
+        }
+        if (documento > ultimo || documento < 0) return false;
+        Cursor c = cursor();
+        if (!c.avanzarHasta(documento) || c.actual != documento) return false;
+
+        int indice = c.indice - 1;
+        int inicio = c.inicioActual;
+        int previo = c.anterior;
+        boolean haySiguiente = c.siguiente();
+        int fin = haySiguiente ? c.posicion : longitud;
+
+        // Bytes: [0, inicio) + diferencia unida con la siguiente entrada + [fin, longitud)
+        byte[] anteriores = datos;
+        int longitudAnterior = longitud;
+        datos = new byte[Math.max(4, longitudAnterior)];
+        System.arraycopy(anteriores, 0, datos, 0, inicio);
+        longitud = inicio;
+        if (haySiguiente) {
+            escribirVarint(c.actual - previo);
+        } else {
+            ultimo = previo;
+        }
+        int resto = longitudAnterior - fin;
+        System.arraycopy(anteriores, fin, datos, longitud, resto);
+        longitud += resto;
+        int corrimiento = longitud - longitudAnterior;
+        cantidad--;
+
+        // El salto s apunta a la entrada (s + 1) * INTERVALO_SALTO; los que estaban en
+        // o antes de la entrada quitada no cambian, los siguientes pasan a la entrada de al lado
+        int saltos = 0;
+        while (saltos < saltoPrevio.length && (saltos + 1) * INTERVALO_SALTO < cantidad) saltos++;
+        int[] previos = Arrays.copyOf(saltoPrevio, saltos);
+        int[] posiciones = Arrays.copyOf(saltoPosicion, saltos);
+        int[] leido = new int[1];
+        for (int s = 0; s < saltos; s++) {
+            if ((s + 1) * INTERVALO_SALTO <= indice) continue;
+            int siguiente = leerVarint(anteriores, saltoPosicion[s], leido);
+            previos[s] = saltoPrevio[s] + leido[0];
+            posiciones[s] = siguiente + corrimiento;
+        }
+        saltoPrevio = previos;
+        saltoPosicion = posiciones;
+        return true;
+    }
+
+    /**
+     * Verifica si la lista contiene un identificador.
+     *
+     * @param documento id buscado
+     * @return true si está en la lista
+     */
+    public boolean contiene(int documento) {
+        if (documento > ultimo || documento < 0) return false;
+        Cursor c = cursor();
+        return c.avanzarHasta(documento) && c.actual() == documento;
+    }
+
+    /**
+     * Número de identificadores almacenados.
+     *
+     * @return cantidad de documentos
+     */
+    public int size() {
+        return cantidad;
+    }
+
+    /**
+     * Verifica si la lista está vacía.
+     *
+     * @return true si no contiene documentos
+     */
+    public boolean estaVacia() {
+        return cantidad == 0;
+    }
+
+    /**
+     * Decodifica toda la lista en un arreglo ordenado.
+     *
+     * @return arreglo con los ids en orden creciente
+     */
+    public int[] aArreglo() {
+        int[] ids = new int[cantidad];
+        Cursor c = cursor();
+        int i = 0;
+        while (c.siguiente()) {
+            ids[i++] = c.actual();
+        }
+        return ids;
+    }
+
+    /**
+     * Crea un cursor posicionado antes del primer identificador.
+     *
+     * @return cursor nuevo sobre esta lista
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Devuelve una vista de solo lectura del contenido actual, en O(1) y sin copiar.
+     * Funciona porque la lista solo escribe después de los bytes ya usados y, cuando
+     * crece o se reconstruye, lo hace en arreglos nuevos: lo que ve la instantánea no
+     * vuelve a cambiar aunque la lista original siga recibiendo ids.
+     *
+     * @return instantánea inmutable con los ids agregados hasta ahora
+     */
+    public ListaPostings instantanea() {
+        return soloLectura ? this : new ListaPostings(this);
+    }
+
+    /**
+     * Une dos listas en una nueva, sin repetidos, recorriéndolas una sola vez.
+     *
+     * @param a primera lista
+     * @param b segunda lista
+     * @return lista nueva con los ids de ambas
+     */
+    public static ListaPostings unir(ListaPostings a, ListaPostings b) {
+        ListaPostings union = new ListaPostings();
+        Cursor ca = a.cursor();
+        Cursor cb = b.cursor();
+        boolean hayA = ca.siguiente();
+        boolean hayB = cb.siguiente();
+        while (hayA || hayB) {
+            int menor;
+            if (!hayB || (hayA && ca.actual() < cb.actual())) {
+                menor = ca.actual();
+                hayA = ca.siguiente();
+            } else {
+                menor = cb.actual();
+                if (hayA && ca.actual() == menor) hayA = ca.siguiente();
+                hayB = cb.siguiente();
+            }
+            union.agregarAlFinal(menor);
+        }
+        return union;
+    }
+
+    /**
+     * Bytes ocupados por los datos comprimidos (sin contar los puntos de salto).
+     *
+     * @return tamaño comprimido en bytes
+     */
+    public int bytesUsados() {
+        return longitud;
+    }
+
+    // --- Métodos privados ---
+
+    private void agregarAlFinal(int documento) {
+        if (cantidad % INTERVALO_SALTO == 0 && cantidad > 0) {
+            int n = saltoPrevio.length;
+            saltoPrevio = Arrays.copyOf(saltoPrevio, n + 1);
+            saltoPosicion = Arrays.copyOf(saltoPosicion, n + 1);
+            saltoPrevio[n] = ultimo;
+            saltoPosicion[n] = longitud;
+        }
+        // El primer delta se calcula contra -1 para que el id 0 también sea representable
+        escribirVarint(documento - ultimo);
+        ultimo = documento;
+        cantidad++;
+    }
+
+    private void escribirVarint(int valor) {
+        if (longitud + 5 > datos.length) {
+            datos = Arrays.copyOf(datos, Math.max(datos.length * 2, longitud + 5));
+        }
+        while ((valor & ~0x7F) != 0) {
+            datos[longitud++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        datos[longitud++] = (byte) valor;
+    }
+
+    /**
+     * Decodifica un varint.
+     *
+     * @return posición siguiente; el valor queda en {@code valor[0]}
+     */
+    private static int leerVarint(byte[] bytes, int posicion, int[] valor) {
+        int resultado = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = bytes[posicion++];
+            resultado |= (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while (b < 0);
+        valor[0] = resultado;
+        return posicion;
+    }
+
+    private void reiniciar() {
+        datos = new byte[Math.max(4, longitud)];
+        longitud = 0;
+        cantidad = 0;
+        ultimo = -1;
+        saltoPrevio = new int[0];
+        saltoPosicion = new int[0];
+    }
+
+    /**
+     * Recorrido secuencial sin reservar objetos por elemento.
+     * Uso típico: {@code while (c.siguiente()) { int id = c.actual(); ... }}.
+     */
+    public class Cursor {
+        /** Posición en bytes del siguiente delta. */
+        private int posicion;
+        /** Índice (0..cantidad) del siguiente elemento a leer. */
+        private int indice;
+        /** Id actual; -1 antes de comenzar. */
+        private int actual;
+        /** Id anterior al actual (-1 si es el primero). */
+        private int anterior;
+        /** Posición en bytes donde empieza la entrada actual. */
+        private int inicioActual;
+
+        private Cursor() {
+            this.posicion = 0;
+            this.indice = 0;
+            this.actual = -1;
+        }
+
+        /**
+         * Avanza al siguiente identificador.
+         *
+         * @return true si hay un elemento actual, false si se llegó al final
+         */
+        public boolean siguiente() {
+            if (indice >= cantidad) {
+                indice = cantidad + 1;
+                return false;
+            }
+            anterior = actual;
+            inicioActual = posicion;
+            int valor = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                b = datos[posicion++];
+                valor |= (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while (b < 0);
+            actual += valor;
+            indice++;
+            return true;
+        }
+
+        /**
+         * Avanza hasta el primer identificador mayor o igual que {@code objetivo}.
+         * Primero salta bloques completos usando los puntos de salto (búsqueda
+         * galopante seguida de binaria) y luego decodifica dentro del bloque.
+         *
+         * @param objetivo id mínimo buscado
+         * @return true si existe tal identificador (queda como actual)
+         */
+        public boolean avanzarHasta(int objetivo) {
+            if (indice > 0 && indice <= cantidad && actual >= objetivo) return true;
+            int bloqueActual = indice / INTERVALO_SALTO;
+            int n = saltoPrevio.length;
+            // Galope: el salto s apunta a la entrada (s + 1) * INTERVALO_SALTO
+            int paso = 1;
+            int bajo = bloqueActual - 1;
+            int alto = bajo + paso;
+            while (alto < n && saltoPrevio[alto] < objetivo) {
+                bajo = alto;
+                paso <<= 1;
+                alto = bajo + paso;
+            }
+            if (alto > n) alto = n;
+            // Búsqueda binaria del último salto con previo < objetivo en (bajo, alto)
+            int izq = bajo + 1, der = alto - 1, mejor = bajo;
+            while (izq <= der) {
+                int medio = (izq + der) >>> 1;
+                if (saltoPrevio[medio] < objetivo) {
+                    mejor = medio;
+                    izq = medio + 1;
+                } else {
+                    der = medio - 1;
+                }
+            }
+            if (mejor >= 0 && (mejor + 1) * INTERVALO_SALTO > indice) {
+                posicion = saltoPosicion[mejor];
+                actual = saltoPrevio[mejor];
+                indice = (mejor + 1) * INTERVALO_SALTO;
+            }
+            while (siguiente()) {
+                if (actual >= objetivo) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Devuelve el identificador actual.
+         *
+         * @return id del documento actual
+         * @throws NoSuchElementException si el cursor no está sobre un elemento
+         */
+        public int actual() {
+            if (indice == 0 || indice > cantidad) throw new NoSuchElementException();
+            return actual;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Montículo de mínimos acotado a k elementos, para quedarse con los k documentos de
+ * mayor puntaje sin ordenar todos los resultados. La raíz es el peor de los k mejores:
+ * cada candidato se compara solo con ella y, si la supera, la reemplaza en O(log k).
+ * Elegir los k mejores entre n candidatos cuesta O(n log k) y ocupa O(k) de memoria.
+ *
+ * <p>A igual puntaje se prefiere el id menor, así el resultado no depende del orden
+ * en que se ofrecen los candidatos.</p>
+ *
+ * @author NITRO
+ */
+public class MonticuloTopK {
+
+    private final int[] ids;
+    private final double[] puntajes;
+    private int cantidad;
+
+    /**
+     * Crea un montículo vacío.
+     *
+     * @param k cantidad máxima de elementos que se conservan
+     * @throws IllegalArgumentException si k es negativo
+     */
+    public MonticuloTopK(int k) {
+        if (k < 0) throw new IllegalArgumentException("k no puede ser negativo: " + k);
+        this.ids = new int[k];
+        this.puntajes = new double[k];
+    }
+
+    /**
+     * Ofrece un candidato. Entra si todavía hay lugar o si es mejor que el peor guardado.
+     *
+     * @param id id del documento
+     * @param puntaje puntaje del documento
+     * @return true si el candidato quedó en el montículo
+     */
+    public boolean ofrecer(int id, double puntaje) {
+        if (cantidad < ids.length) {
+            ids[cantidad] = id;
+            puntajes[cantidad] = puntaje;
+            subir(cantidad++);
+            return true;
+        }
+        if (cantidad == 0 || !peor(ids[0], puntajes[0], id, puntaje)) return false;
+        ids[0] = id;
+        puntajes[0] = puntaje;
+        bajar(0);
+        return true;
+    }
+
+    /**
+     * Cantidad de elementos guardados (como mucho k).
+     *
+     * @return número de elementos
+     */
+    public int size() {
+        return cantidad;
+    }
+
+    /**
+     * Vacía el montículo escribiendo los elementos de mejor a peor.
+     *
+     * @param destinoIds arreglo para los ids (largo al menos {@link #size()})
+     * @param destinoPuntajes arreglo para los puntajes, o null si no interesan
+     * @return cantidad de elementos escritos
+     */
+    public int extraerOrdenados(int[] destinoIds, double[] destinoPuntajes) {
+        int n = cantidad;
+        // Se saca siempre el peor, que va a la última posición libre
+        for (int i = n - 1; i >= 0; i--) {
+            destinoIds[i] = ids[0];
+            if (destinoPuntajes != null) destinoPuntajes[i] = puntajes[0];
+            cantidad--;
+            if (cantidad > 0) {
+                ids[0] = ids[cantidad];
+                puntajes[0] = puntajes[cantidad];
+                bajar(0);
+            }
+        }
+        return n;
+    }
+
+    // --- Métodos privados ---
+
+    /**
+     * Indica si (idA, a) es peor que (idB, b): menor puntaje o, si empatan, mayor id.
+     */
+    private static boolean peor(int idA, double a, int idB, double b) {
+        return a < b || (a == b && idA > idB);
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (!peor(ids[i], puntajes[i], ids[padre], puntajes[padre])) break;
+            intercambiar(i, padre);
+            i = padre;
+        }
+    }
+
+    private void bajar(int i) {
+        while (true) {
+            int izq = 2 * i + 1;
+            if (izq >= cantidad) break;
+            int menor = izq;
+            int der = izq + 1;
+            if (der < cantidad && peor(ids[der], puntajes[der], ids[izq], puntajes[izq])) menor = der;
+            if (!peor(ids[menor], puntajes[menor], ids[i], puntajes[i])) break;
+            intercambiar(i, menor);
+            i = menor;
+        }
+    }
+
+    private void intercambiar(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double p = puntajes[a];
+        puntajes[a] = puntajes[b];
+        puntajes[b] = p;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Nodo de un árbol de búsqueda con tamaños de subárbol, visto solo para leer.
+ * Lo implementan los nodos de {@link ArbolAVL} y de {@link ArbolAVLPersistente},
+ * que así comparten la carga masiva y el {@link RecorridoInorden}.
+ *
+ * @param <T> tipo de clave
+ * @param <N> tipo concreto del nodo
+ * @author NITRO
+ */
+interface NodoOrdenado<T, N extends NodoOrdenado<T, N>> extends ArbolAVL.Entrada<T> {
+
+    /**
+     * @return el hijo izquierdo, o null
+     */
+    N hijoIzquierdo();
+
+    /**
+     * @return el hijo derecho, o null
+     */
+    N hijoDerecho();
+
+    /**
+     * @return cantidad de nodos del subárbol que empieza en este nodo
+     */
+    int tamanoSubarbol();
+
+    /**
+     * Crea el nodo de una clave con sus hijos ya armados.
+     *
+     * @param <T> tipo de clave
+     * @param <N> tipo concreto del nodo
+     */
+    interface Fabrica<T, N> {
+        N crear(T clave, ListaPostings documentos, N izquierdo, N derecho);
+    }
+
+    /**
+     * Arma un árbol balanceado a partir de claves ordenadas, en O(n) y sin rotaciones.
+     * Cada posición del medio se vuelve raíz de su rango, así las alturas de los
+     * hermanos difieren en a lo sumo uno. Los nodos se quedan con las listas recibidas.
+     *
+     * @param claves claves en orden estrictamente creciente
+     * @param documentos lista de ids de cada clave (misma posición)
+     * @param n cantidad de claves a usar desde el inicio de los arreglos
+     * @param fabrica crea cada nodo a partir de sus hijos
+     * @return raíz del árbol, o null si n es 0
+     * @throws IllegalArgumentException si las claves no están ordenadas o están repetidas
+     */
+    static <T extends Comparable<T>, N> N construir(T[] claves, ListaPostings[] documentos, int n, Fabrica<T, N> fabrica) {
+        for (int i = 1; i < n; i++) {
+            if (claves[i - 1].compareTo(claves[i]) >= 0) {
+                throw new IllegalArgumentException("Las claves deben estar ordenadas y sin repetir: " + claves[i]);
+            }
+        }
+        return armar(claves, documentos, 0, n - 1, fabrica);
+    }
+
+    /**
+     * Arma el subárbol del rango [inicio, fin].
+     * La recursión solo llega a profundidad log2(n).
+     */
+    private static <T, N> N armar(T[] claves, ListaPostings[] documentos, int inicio, int fin, Fabrica<T, N> fabrica) {
+        if (inicio > fin) return null;
+        int medio = (inicio + fin) >>> 1;
+        N izquierdo = armar(claves, documentos, inicio, medio - 1, fabrica);
+        N derecho = armar(claves, documentos, medio + 1, fin, fabrica);
+        return fabrica.crear(claves[medio], documentos[medio], izquierdo, derecho);
+    }
+}
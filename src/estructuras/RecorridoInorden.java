@@ -0,0 +1,125 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiPredicate;
+
+/**
+ * Iterador inorden con pila explícita, acotado por un rango, un prefijo o una cantidad.
+ * La pila guarda los ancestros pendientes (a lo sumo la altura del árbol).
+ * Recorre el árbol que cuelga de la raíz recibida; si ese árbol se modifica durante
+ * el recorrido el resultado no está definido (las versiones de
+ * {@link ArbolAVLPersistente} no se modifican nunca).
+ *
+ * @param <T> tipo de clave
+ * @param <N> tipo concreto del nodo
+ * @author NITRO
+ */
+final class RecorridoInorden<T extends Comparable<T>, N extends NodoOrdenado<T, N>> implements Iterator<ArbolAVL.Entrada<T>> {
+    private final Object[] pila = new Object[ArbolAVL.ALTURA_MAXIMA];
+    private int tope;
+    private final N raiz;
+    private final T hasta;
+    private final T prefijo;
+    private final BiPredicate<? super T, ? super T> empiezaCon;
+    /** Entradas que todavía se pueden devolver. */
+    private int restantes;
+    /** Próximo nodo a devolver, o null si el recorrido terminó. */
+    private N siguiente;
+
+    /**
+     * @param raiz raíz del árbol a recorrer
+     * @param hasta cota superior excluida, o null
+     * @param prefijo prefijo que deben tener las claves, o null
+     * @param empiezaCon prueba de prefijo (solo se usa si hay prefijo)
+     * @param limite cantidad máxima de entradas
+     */
+    RecorridoInorden(N raiz, T hasta, T prefijo, BiPredicate<? super T, ? super T> empiezaCon, int limite) {
+        this.raiz = raiz;
+        this.hasta = hasta;
+        this.prefijo = prefijo;
+        this.empiezaCon = empiezaCon;
+        this.restantes = limite;
+    }
+
+    /**
+     * Apila el camino a la primera clave mayor o igual que {@code desde};
+     * los nodos menores se descartan.
+     */
+    RecorridoInorden<T, N> apilarDesde(T desde) {
+        N nodo = raiz;
+        while (nodo != null) {
+            if (desde == null || nodo.getClave().compareTo(desde) >= 0) {
+                pila[tope++] = nodo;
+                nodo = nodo.hijoIzquierdo();
+            } else {
+                nodo = nodo.hijoDerecho();
+            }
+        }
+        avanzar();
+        return this;
+    }
+
+    /**
+     * Apila el camino a la clave de la posición indicada usando los tamaños de subárbol.
+     */
+    RecorridoInorden<T, N> apilarDesdePosicion(int posicion) {
+        N nodo = raiz;
+        while (nodo != null) {
+            N izquierdo = nodo.hijoIzquierdo();
+            int izquierdos = izquierdo == null ? 0 : izquierdo.tamanoSubarbol();
+            if (posicion <= izquierdos) {
+                pila[tope++] = nodo;
+                if (posicion == izquierdos) break;
+                nodo = izquierdo;
+            } else {
+                posicion -= izquierdos + 1;
+                nodo = nodo.hijoDerecho();
+            }
+        }
+        avanzar();
+        return this;
+    }
+
+    /**
+     * Saca el próximo nodo de la pila y apila el borde izquierdo de su hijo derecho.
+     */
+    @SuppressWarnings("unchecked")
+    private void avanzar() {
+        if (tope == 0 || restantes == 0) {
+            siguiente = null;
+            return;
+        }
+        restantes--;
+        N nodo = (N) pila[--tope];
+        pila[tope] = null;
+        for (N n = nodo.hijoDerecho(); n != null; n = n.hijoIzquierdo()) {
+            pila[tope++] = n;
+        }
+        if ((hasta != null && nodo.getClave().compareTo(hasta) >= 0)
+                || (prefijo != null && !empiezaCon.test(nodo.getClave(), prefijo))) {
+            // Fuera de la cota: todo lo que queda es mayor
+            siguiente = null;
+            tope = 0;
+            return;
+        }
+        siguiente = nodo;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return siguiente != null;
+    }
+
+    @Override
+    public ArbolAVL.Entrada<T> next() {
+        N nodo = siguiente;
+        if (nodo == null) throw new NoSuchElementException();
+        avanzar();
+        return nodo;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Operaciones comunes de las tablas de dispersión del proyecto.
+ * Permite elegir entre la tabla secuencial y la concurrente sin cambiar el código que la usa.
+ * 
+ * @param <K> tipo de clave
+ * @param <V> tipo de valor
+ * @author NITRO
+ */
+public interface Tabla<K, V> {
+    
+    /**
+     * Vista de solo lectura de una entrada de la tabla.
+     * Las vistas de entradas devuelven las entradas internas, sin copiarlas.
+     * 
+     * @param <K> tipo de clave
+     * @param <V> tipo de valor
+     */
+    interface Par<K, V> {
+        /**
+         * @return la clave de la entrada
+         */
+        K getClave();
+        
+        /**
+         * @return el valor de la entrada
+         */
+        V getValor();
+    }
+    
+    /**
+     * Inserta o actualiza una entrada.
+     * @param clave
+     * @param valor
+     */
+    void put(K clave, V valor);
+    
+    /**
+     * Obtiene el valor asociado a una clave.
+     * @param clave
+     * @return el valor, o null si la clave no existe
+     */
+    V get(K clave);
+    
+    /**
+     * Verifica si la clave existe.
+     * @param clave
+     * @return 
+     */
+    boolean contieneClave(K clave);
+    
+    /**
+     * Elimina una clave.
+     * @param clave
+     * @return true si la clave existía
+     */
+    boolean remove(K clave);
+    
+    /**
+     * Devuelve el número de elementos activos.
+     * @return 
+     */
+    int size();
+    
+    /**
+     * Devuelve todas las claves activas.
+     * @return 
+     */
+    ListaEnlazada<K> claves();
+    
+    /**
+     * Vista de las claves que recorre el arreglo interno directamente, sin copiarlas.
+     * No se debe modificar la tabla mientras se recorre la vista.
+     * @return 
+     */
+    Iterable<K> vistaClaves();
+    
+    /**
+     * Vista de los valores que recorre el arreglo interno directamente, sin copiarlos.
+     * No se debe modificar la tabla mientras se recorre la vista.
+     * @return 
+     */
+    Iterable<V> vistaValores();
+    
+    /**
+     * Vista de las entradas que recorre el arreglo interno directamente.
+     * Cada elemento es la entrada interna, no una copia.
+     * @return 
+     */
+    Iterable<Par<K, V>> vistaEntradas();
+    
+    /**
+     * Aplica una acción a cada par clave-valor sin reservar memoria por entrada.
+     * @param accion acción que recibe la clave y el valor
+     */
+    void forEach(BiConsumer<? super K, ? super V> accion);
+    
+    /**
+     * Divisor sobre los valores de toda la tabla.
+     * @return 
+     */
+    Spliterator<V> spliteratorValores();
+    
+    /**
+     * Devuelve un flujo (secuencial o paralelo) con las claves activas.
+     * @param paralelo true para repartir el recorrido entre varios hilos
+     * @return 
+     */
+    Stream<K> streamClaves(boolean paralelo);
+    
+    /**
+     * Devuelve un flujo secuencial con los valores activos.
+     * @return 
+     */
+    default Stream<V> stream() {
+        return StreamSupport.stream(spliteratorValores(), false);
+    }
+    
+    /**
+     * Devuelve un flujo paralelo con los valores activos.
+     * @return 
+     */
+    default Stream<V> parallelStream() {
+        return StreamSupport.stream(spliteratorValores(), true);
+    }
+}
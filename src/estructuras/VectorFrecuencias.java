@@ -0,0 +1,104 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Frecuencias de términos de un documento, calculadas una vez al indexarlo.
+ * Guarda dos arreglos paralelos ordenados por código de término (ver
+ * {@link DiccionarioTerminos}), así consultar la frecuencia de un término es una
+ * búsqueda binaria sobre unos pocos enteros y no vuelve a recorrer el texto.
+ *
+ * <p>Es inmutable una vez construido.</p>
+ *
+ * @author NITRO
+ */
+public final class VectorFrecuencias {
+
+    private final int[] codigos;
+    private final int[] conteos;
+
+    /**
+     * Arma el vector a partir de pares (código, conteo) en cualquier orden.
+     * Los códigos repetidos se guardan una sola vez con el primer conteo,
+     * ya que corresponden al mismo término contado sobre el mismo texto.
+     *
+     * @param codigos códigos de términos
+     * @param conteos frecuencia de cada código
+     * @param n cantidad de pares válidos
+     */
+    public VectorFrecuencias(int[] codigos, int[] conteos, int n) {
+        int[] c = new int[n];
+        int[] f = new int[n];
+        int distintos = 0;
+        // Inserción ordenada: un documento tiene pocas palabras clave
+        for (int i = 0; i < n; i++) {
+            int codigo = codigos[i];
+            int j = distintos;
+            while (j > 0 && c[j - 1] > codigo) j--;
+            if (j > 0 && c[j - 1] == codigo) continue;
+            System.arraycopy(c, j, c, j + 1, distintos - j);
+            System.arraycopy(f, j, f, j + 1, distintos - j);
+            c[j] = codigo;
+            f[j] = conteos[i];
+            distintos++;
+        }
+        if (distintos < n) {
+            int[] recortado = new int[distintos];
+            System.arraycopy(c, 0, recortado, 0, distintos);
+            c = recortado;
+            recortado = new int[distintos];
+            System.arraycopy(f, 0, recortado, 0, distintos);
+            f = recortado;
+        }
+        this.codigos = c;
+        this.conteos = f;
+    }
+
+    /**
+     * Frecuencia de un término en el documento.
+     *
+     * @param codigo código del término
+     * @return apariciones, 0 si el término no está en el vector
+     */
+    public int frecuencia(int codigo) {
+        int izq = 0, der = codigos.length - 1;
+        while (izq <= der) {
+            int medio = (izq + der) >>> 1;
+            if (codigos[medio] < codigo) izq = medio + 1;
+            else if (codigos[medio] > codigo) der = medio - 1;
+            else return conteos[medio];
+        }
+        return 0;
+    }
+
+    /**
+     * Cantidad de términos distintos del vector.
+     *
+     * @return número de entradas
+     */
+    public int size() {
+        return codigos.length;
+    }
+
+    /**
+     * Código del término en la posición indicada (orden creciente de código).
+     *
+     * @param i posición, entre 0 y size() - 1
+     * @return código del término
+     */
+    public int codigo(int i) {
+        return codigos[i];
+    }
+
+    /**
+     * Frecuencia del término en la posición indicada.
+     *
+     * @param i posición, entre 0 y size() - 1
+     * @return apariciones del término
+     */
+    public int conteo(int i) {
+        return conteos[i];
+    }
+}
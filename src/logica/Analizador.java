@@ -4,15 +4,31 @@
  */
 package logica;
 
+import estructuras.AutomataAhoCorasick;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import modelo.Resumen;
 
 /**
  * Clase encargada del analisis estadistico del resumenes.
- * Realiza el conteo de frecuencia de palabras clave y genera reportes.
+ * Realiza el conteo de frecuencia de palabras clave y arma los resultados.
+ * Cada instancia reutiliza su propio {@link Normalizador}, asi que no debe
+ * usarse desde varios hilos a la vez.
  * @author COMPUGAMER
  */
 public class Analizador {
 
+    // Resumenes por tarea a partir de los cuales el reporte del corpus ya no se divide
+    private static final int UMBRAL_CORPUS = 32;
+    
+    // Palabras a partir de las cuales conviene el automata en lugar de un indexOf por palabra
+    // (punto de cruce medido con BenchmarkAhoCorasick)
+    private static final int UMBRAL_AUTOMATA = 64;
+
+    // Minusculas, sin acentos y sin puntuacion, en un buffer reutilizado
+    private final Normalizador normalizador = new Normalizador();
+
     /**
      * Cuenta cuantas veces aparece una palabra o frase en el texto.
      * @param cuerpo El texto completo donde se realizara la busqueda.
@@ -23,8 +39,50 @@ public class Analizador {
         if (cuerpo == null || palabra == null || palabra.isEmpty()) return 0;
 
         // 1. Normalizacion del texto 
-        String textoNorm = normalizarTexto(cuerpo);
-        String palabraNorm = normalizarTexto(palabra);
+        String textoNorm = normalizador.normalizar(cuerpo);
+        String palabraNorm = normalizador.normalizar(palabra);
+
+        return contarNormalizado(textoNorm, palabraNorm);
+    }
+
+    /**
+     * Cuenta varias palabras o frases en el texto normalizandolo una sola vez.
+     * Con pocas palabras (las de un resumen) cada una se busca con indexOf sobre el
+     * texto normalizado; a partir de UMBRAL_AUTOMATA se buscan todas juntas con un
+     * automata de Aho-Corasick. En ambos casos el resultado es el mismo que llamar a
+     * {@link #contarFrecuencia(String, String)} con cada una.
+     * @param cuerpo El texto completo donde se realizara la busqueda.
+     * @param palabras Palabras o frases clave a buscar.
+     * @return Frecuencia de cada palabra, en el mismo orden.
+     */
+    public int[] contarFrecuencias(String cuerpo, String[] palabras) {
+        String[] patrones = new String[palabras.length];
+        for (int i = 0; i < palabras.length; i++) {
+            patrones[i] = normalizador.normalizar(palabras[i]);
+        }
+        if (patrones.length >= UMBRAL_AUTOMATA) {
+            // El cuerpo se normaliza en el buffer del normalizador, sin crear otra cadena
+            AutomataAhoCorasick automata = new AutomataAhoCorasick(patrones);
+            return automata.contar(normalizador.normalizarEnBuffer(cuerpo));
+        }
+        
+        int[] conteos = new int[patrones.length];
+        if (cuerpo == null) return conteos;
+        String textoNorm = normalizador.normalizar(cuerpo);
+        for (int i = 0; i < patrones.length; i++) {
+            conteos[i] = contarNormalizado(textoNorm, patrones[i]);
+        }
+        return conteos;
+    }
+
+    /**
+     * Cuenta las apariciones de una palabra ya normalizada en un texto ya normalizado.
+     * @param textoNorm Texto normalizado.
+     * @param palabraNorm Palabra o frase normalizada.
+     * @return Numero de apariciones sin solapamiento.
+     */
+    private int contarNormalizado(String textoNorm, String palabraNorm) {
+        if (palabraNorm.isEmpty()) return 0;
 
         // 2. Algoritmo de busqueda secuencial
         int contador = 0;
@@ -41,47 +99,168 @@ public class Analizador {
     }
 
     /**
-     * Metodo auxiliar para normalizar cadenas de texto.
-     * Convierte a minusculas y reemplaza signos de puntuacion por espacios
-     * para evitar falsos negativos.
-     * * @param texto La cadena original.
-     * @return La cadena normalizada.
+     * Frecuencia de cada palabra clave del resumen en su cuerpo, en el orden de
+     * {@link Resumen#getPalabrasClaves()}. Es el calculo que se guarda al indexar.
+     * @param r El resumen a analizar.
+     * @return Frecuencia de cada palabra clave.
      */
-    private String normalizarTexto(String texto) {
-        if (texto == null) return "";
-        
-        String normalizado = texto.toLowerCase();
-        
-        // Reemplazamos puntuacion por espacios para no pegar palabras adyacentes
-        normalizado = normalizado
-            .replace(".", " ")
-            .replace(",", " ")
-            .replace(";", " ")
-            .replace(":", " ")
-            .replace("(", " ")
-            .replace(")", " ");
-            
-        // Eliminamos espacios dobles que hayan podido quedar
-        return normalizado.trim();
+    public int[] frecuenciasPalabrasClave(Resumen r) {
+        // El normalizador se encarga de mayusculas y acentos de cada palabra
+        return contarFrecuencias(r.getCuerpo(), r.getPalabrasClaves());
     }
 
     /**
-     * Genera el reporte final con el formato solicitado en el planteamiento del problema.
-     * * @param r El objeto resumen a analizar.
-     * @return Un String formateado con el titulo, autores y frecuencias.
+     * Analiza las frecuencias de las palabras clave de un resumen en su cuerpo.
+     * @param r El objeto resumen a analizar.
+     * @return Titulo, autores y frecuencia de cada palabra clave.
      */
-    public String analizar(Resumen r) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("--- Analisis de Frecuencia ---\n");
-        sb.append("Nombre del trabajo: ").append(r.getTitulo()).append("\n");
-        sb.append("Autores: ").append(r.autoresToString()).append("\n");
-        
-        // Recorre todas las palabras clave del resumen y calculamos su frecuencia
-        for (String clave : r.getPalabrasClaves()) {
-            int freq = contarFrecuencia(r.getCuerpo(), clave);
-            sb.append(clave).append(": ").append(freq).append("\n");
+    public ResultadoAnalisis analizar(Resumen r) {
+        return analizar(r, frecuenciasPalabrasClave(r));
+    }
+
+    /**
+     * Arma el resultado con frecuencias ya calculadas, sin volver a recorrer el cuerpo.
+     * @param r El objeto resumen a analizar.
+     * @param frecuencias Frecuencia de cada palabra clave, en el orden del resumen.
+     * @return Titulo, autores y frecuencia de cada palabra clave.
+     */
+    public ResultadoAnalisis analizar(Resumen r, int[] frecuencias) {
+        return new ResultadoAnalisis(r.getTitulo(), r.getAutores(), r.getPalabrasClaves(), frecuencias);
+    }
+
+    /**
+     * Reporte de frecuencias de un conjunto de palabras sobre toda la coleccion,
+     * usando el pool comun de fork/join.
+     * @param resumenes Resumenes a analizar (los null se omiten).
+     * @param palabras Palabras o frases a contar.
+     * @return Frecuencias globales, de documento y resumenes donde aparece cada palabra.
+     */
+    public ReporteCorpus analizarCorpus(Resumen[] resumenes, String[] palabras) {
+        return analizarCorpus(resumenes, palabras, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reporte de frecuencias sobre toda la coleccion en el pool indicado.
+     * El arreglo se divide a la mitad hasta tramos de {@value #UMBRAL_CORPUS} resumenes;
+     * cada tramo cuenta con su propio normalizador y sus propios contadores, y los
+     * resultados se suman al unir las tareas, sin memoria compartida entre hilos.
+     * El automata de palabras se construye una vez y lo leen todas las tareas.
+     * @param resumenes Resumenes a analizar (los null se omiten).
+     * @param palabras Palabras o frases a contar.
+     * @param pool Pool donde se ejecutan las tareas.
+     * @return Frecuencias globales, de documento y resumenes donde aparece cada palabra.
+     */
+    public ReporteCorpus analizarCorpus(Resumen[] resumenes, String[] palabras, ForkJoinPool pool) {
+        String[] patrones = new String[palabras.length];
+        for (int i = 0; i < palabras.length; i++) {
+            patrones[i] = normalizador.normalizar(palabras[i]);
+        }
+        AutomataAhoCorasick automata = new AutomataAhoCorasick(patrones);
+        Parcial total = pool.invoke(new TareaCorpus(resumenes, 0, resumenes.length, automata));
+
+        // Listas por palabra con un conteo por palabra y una pasada estable sobre las apariciones
+        int k = palabras.length;
+        int[] desde = new int[k + 1];
+        for (int a = 0; a < total.cantidad; a += 3) desde[total.apariciones[a] + 1]++;
+        for (int p = 0; p < k; p++) desde[p + 1] += desde[p];
+        Resumen[][] listas = new Resumen[k][];
+        int[][] frecuencias = new int[k][];
+        for (int p = 0; p < k; p++) {
+            listas[p] = new Resumen[desde[p + 1] - desde[p]];
+            frecuencias[p] = new int[listas[p].length];
+        }
+        int[] llenos = new int[k];
+        for (int a = 0; a < total.cantidad; a += 3) {
+            int p = total.apariciones[a];
+            listas[p][llenos[p]] = resumenes[total.apariciones[a + 1]];
+            frecuencias[p][llenos[p]++] = total.apariciones[a + 2];
+        }
+        return new ReporteCorpus(palabras.clone(), total.totales, listas, frecuencias, total.resumenes);
+    }
+
+    /**
+     * Contadores de una tarea del reporte del corpus.
+     */
+    private static final class Parcial {
+        final long[] totales;
+        /** Ternas (palabra, posicion del resumen, frecuencia) en orden de posicion. */
+        int[] apariciones = new int[48];
+        int cantidad;
+        int resumenes;
+
+        Parcial(int palabras) {
+            this.totales = new long[palabras];
+        }
+
+        void agregar(int palabra, int posicion, int frecuencia) {
+            if (cantidad + 3 > apariciones.length) apariciones = Arrays.copyOf(apariciones, apariciones.length * 2);
+            apariciones[cantidad++] = palabra;
+            apariciones[cantidad++] = posicion;
+            apariciones[cantidad++] = frecuencia;
+        }
+
+        /**
+         * Suma los contadores de la tarea de la derecha. Sus posiciones son todas mayores,
+         * asi que concatenar mantiene las apariciones en orden.
+         */
+        Parcial unir(Parcial derecha) {
+            for (int p = 0; p < totales.length; p++) totales[p] += derecha.totales[p];
+            if (cantidad + derecha.cantidad > apariciones.length) {
+                apariciones = Arrays.copyOf(apariciones, cantidad + derecha.cantidad);
+            }
+            System.arraycopy(derecha.apariciones, 0, apariciones, cantidad, derecha.cantidad);
+            cantidad += derecha.cantidad;
+            resumenes += derecha.resumenes;
+            return this;
+        }
+    }
+
+    /**
+     * Tarea de fork/join sobre un tramo del arreglo de resumenes.
+     */
+    private static final class TareaCorpus extends RecursiveTask<Parcial> {
+        private static final long serialVersionUID = 1L;
+
+        private final Resumen[] resumenes;
+        private final int desde, hasta;
+        private final AutomataAhoCorasick automata;
+
+        TareaCorpus(Resumen[] resumenes, int desde, int hasta, AutomataAhoCorasick automata) {
+            this.resumenes = resumenes;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.automata = automata;
+        }
+
+        @Override
+        protected Parcial compute() {
+            if (hasta - desde > UMBRAL_CORPUS) {
+                int medio = (desde + hasta) >>> 1;
+                TareaCorpus izquierda = new TareaCorpus(resumenes, desde, medio, automata);
+                izquierda.fork();
+                Parcial derecha = new TareaCorpus(resumenes, medio, hasta, automata).compute();
+                return izquierda.join().unir(derecha);
+            }
+
+            // Cada hoja usa su propio normalizador: el buffer no se comparte entre hilos
+            Normalizador normalizador = new Normalizador();
+            Parcial parcial = new Parcial(automata.size());
+            int[] conteos = new int[automata.size()];
+            int[] porPatron = new int[automata.patronesDistintos()];
+            int[] ultimoFin = new int[automata.patronesDistintos()];
+            for (int i = desde; i < hasta; i++) {
+                Resumen r = resumenes[i];
+                if (r == null) continue;
+                parcial.resumenes++;
+                Arrays.fill(conteos, 0);
+                automata.acumular(normalizador.normalizarEnBuffer(r.getCuerpo()), conteos, porPatron, ultimoFin);
+                for (int p = 0; p < conteos.length; p++) {
+                    if (conteos[p] == 0) continue;
+                    parcial.totales[p] += conteos[p];
+                    parcial.agregar(p, i, conteos[p]);
+                }
+            }
+            return parcial;
         }
-        
-        return sb.toString();
     }
-}
\ No newline at end of file
+}
@@ -5,9 +5,18 @@
 package logica;
 
 import estructuras.ArbolAVL;
-import estructuras.HashTable;
+import estructuras.ArbolAVLPersistente;
+import estructuras.ClaveColacion;
+import estructuras.DiccionarioTerminos;
+import estructuras.HashTableConcurrente;
+import estructuras.IndiceCongelado;
+import estructuras.IndicePosicional;
 import estructuras.ListaEnlazada; 
+import estructuras.ListaPostings;
+import estructuras.Tabla;
+import estructuras.VectorFrecuencias;
 import java.io.File;
+import java.util.Arrays;
 import modelo.Resumen;
 
 /**
@@ -20,19 +29,60 @@ import modelo.Resumen;
  */
 public class Controlador {
 
+    // Cambios en los cuerpos tras los cuales el indice posicional se vuelve a escribir en disco
+    private static final int CAMBIOS_POR_GUARDADO = 32;
+
     private final Lector lector;
     private final Analizador analizador;
     private final Repositorio repositorio;
+    // Normalizador de cada hilo: su buffer no puede compartirse entre consultas concurrentes
+    private final ThreadLocal<Normalizador> normalizador = ThreadLocal.withInitial(Normalizador::new);
+    
+    // Diccionario compartido: una instancia por autor o palabra clave distinta
+    private final DiccionarioTerminos terminos;
     
     // ESTRUCTURAS DE DATOS REALES
-    // HashTable<String, Resumen>: Clave=Título, Valor=Objeto Resumen
-    private final HashTable<String, Resumen> tablaResumenes; 
+    // Tabla<String, Resumen>: Clave=Título, Valor=Objeto Resumen
+    // Concurrente: se puede buscar por titulo mientras otro hilo agrega resumenes
+    private final Tabla<String, Resumen> tablaResumenes; 
+    
+    // Resumen[]: posicion = id del documento, permite resolver los postings sin hashing
+    private Resumen[] documentos;
+    private int totalDocumentos;
+    
+    // Frecuencias de las palabras clave de cada documento, por id, calculadas al indexar
+    private VectorFrecuencias[] frecuencias;
+    
+    // Indice posicional de los cuerpos: terminos y frases sin recorrer los textos
+    private IndicePosicional indiceTexto;
+    
+    // ArbolAVLPersistente<ClaveColacion>: Clave=NombreAutor (orden español, sin acentos ni mayusculas),
+    // Guarda=ids de documentos comprimidos. Las lecturas no se bloquean mientras se indexa
+    private final ArbolAVLPersistente<ClaveColacion> arbolAutores;
+    
+    // ArbolAVLPersistente<ClaveColacion>: Clave=PalabraClave, Guarda=ids de documentos comprimidos
+    private final ArbolAVLPersistente<ClaveColacion> arbolPalabrasClave;
+    
+    // Copias planas de ambos arboles tomadas al terminar la carga. Responden las busquedas
+    // por autor y por palabra clave mientras el arbol siga en esa version; la primera
+    // escritura las deja sin uso y se descartan
+    private volatile Congelado autoresCongelados;
+    private volatile Congelado palabrasCongeladas;
     
-    // ArbolAVL<String>: Clave=NombreAutor, Guarda=Set de Títulos
-    private final ArbolAVL<String> arbolAutores;
+    // Clave de colacion de cada termino, por codigo del diccionario (se calcula una vez)
+    private ClaveColacion[] colaciones;
     
-    // ArbolAVL<String>: Clave=PalabraClave, Guarda=Set de Títulos
-    private final ArbolAVL<String> arbolPalabrasClave;
+    // Evalua consultas booleanas cruzando las listas de ambos arboles
+    private final MotorConsultas motorConsultas;
+    
+    // Ranking BM25 sobre el indice de los cuerpos; cada hilo reutiliza sus acumuladores
+    private final RankingBM25 ranking;
+    
+    // Altas, bajas y modificaciones que aun no estan en el archivo del indice posicional
+    private int cambiosSinGuardar;
+    
+    // La ultima reescritura de la base fallo: el disco no coincide con la memoria
+    private boolean baseDesactualizada;
 
     /**
      * Constructor principal del Controlador.
@@ -40,16 +90,51 @@ public class Controlador {
      * Si no hay datos previos, precarga ejemplos para demostracion.
      */
     public Controlador() {
-        this.lector = new Lector();
+        this.terminos = new DiccionarioTerminos();
+        this.lector = new Lector(terminos);
         this.analizador = new Analizador();
-        this.repositorio = new Repositorio();
+        this.repositorio = new Repositorio(terminos);
         
         // Inicialización
-        this.tablaResumenes = new HashTable<>(); 
-        this.arbolAutores = new ArbolAVL<>();
-        this.arbolPalabrasClave = new ArbolAVL<>();
+        this.tablaResumenes = new HashTableConcurrente<>(); 
+        this.documentos = new Resumen[16];
+        this.totalDocumentos = 0;
+        this.frecuencias = new VectorFrecuencias[16];
+        this.indiceTexto = new IndicePosicional();
+        this.colaciones = new ClaveColacion[16];
+        this.arbolAutores = new ArbolAVLPersistente<>(ClaveColacion::empiezaCon);
+        this.arbolPalabrasClave = new ArbolAVLPersistente<>(ClaveColacion::empiezaCon);
+        this.motorConsultas = new MotorConsultas(arbolAutores, arbolPalabrasClave);
         
         cargarDatosAlInicio();
+        // El indice de los cuerpos puede haberse leido de disco al cargar
+        this.ranking = new RankingBM25(indiceTexto, arbolPalabrasClave);
+        
+        // Tras la carga los arboles casi no cambian: se congelan para las busquedas exactas
+        this.autoresCongelados = new Congelado(arbolAutores);
+        this.palabrasCongeladas = new Congelado(arbolPalabrasClave);
+    }
+    
+    /**
+     * Indice congelado de un arbol junto con la version de la que salio.
+     */
+    private static final class Congelado {
+        private final ArbolAVLPersistente<ClaveColacion> arbol;
+        private final ArbolAVLPersistente.Instantanea<ClaveColacion> version;
+        private final IndiceCongelado<ClaveColacion> indice;
+        
+        Congelado(ArbolAVLPersistente<ClaveColacion> arbol) {
+            this.arbol = arbol;
+            this.version = arbol.instantanea();
+            this.indice = version.congelar();
+        }
+        
+        /**
+         * @return true si el arbol no cambio desde que se congelo
+         */
+        boolean vigente() {
+            return arbol.esVigente(version);
+        }
     }
 
     /**
@@ -58,13 +143,24 @@ public class Controlador {
      * Garantiza que el sistema siempre tenga datos para trabajar.
      */
     private void cargarDatosAlInicio() {
-        // 1. Cargar datos existentes del repositorio
+        // 1. Cargar datos existentes del repositorio (carga masiva, sin rotaciones)
         Resumen[] guardados = repositorio.cargarResumenes();
+        int validos = 0;
         for (Resumen r : guardados) {
-            if (r != null) indexarResumen(r);
+            if (r != null) validos++;
         }
         
-        // 2. Si no hay datos, precargar ejemplos automáticamente
+        // 2. El indice de los cuerpos se lee de disco si corresponde a esta base;
+        // si no, se reconstruye tokenizando los cuerpos y se vuelve a guardar
+        IndicePosicional persistido = repositorio.cargarIndice(validos);
+        indexarEnBloque(guardados, persistido == null);
+        if (persistido != null) {
+            indiceTexto = persistido;
+        } else if (validos > 0) {
+            guardarIndiceTexto();
+        }
+        
+        // 3. Si no hay datos, precargar ejemplos automáticamente
         if (tablaResumenes.size() == 0) {
             precargarEjemplos();
         }
@@ -106,6 +202,7 @@ public class Controlador {
             }
         }
         
+        if (contadorCargados > 0) guardarIndiceTexto();
         System.out.println("Precarga completada. " + contadorCargados + " resúmenes agregados.");
     }
 
@@ -129,10 +226,61 @@ public class Controlador {
         // Guardar en memoria y disco
         indexarResumen(nuevo);
         repositorio.guardarResumen(nuevo);
+        registrarCambioIndice();
         
         return "¡Éxito! Resumen '" + nuevo.getTitulo() + "' agregado correctamente.";
     }
     
+    /**
+     * Elimina un resumen de la memoria y del disco.
+     * En los indices solo se tocan las listas de sus propios autores y palabras clave.
+     * 
+     * @param titulo Titulo exacto del resumen a eliminar
+     * @return Mensaje de resultado indicando éxito o error especifico
+     */
+    public String eliminarResumen(String titulo) {
+        Resumen r = tablaResumenes.get(titulo);
+        if (r == null) return "Error: No existe un resumen con ese título.";
+        
+        desindexarResumen(r);
+        if (!reescribirBase()) {
+            return "Error: El resumen se quitó de la sesión, pero no se pudo actualizar la base de datos.";
+        }
+        registrarCambioIndice();
+        
+        return "¡Éxito! Resumen '" + titulo + "' eliminado correctamente.";
+    }
+    
+    /**
+     * Reemplaza un resumen existente por el contenido de un archivo.
+     * El titulo nuevo puede cambiar, siempre que no choque con otro resumen.
+     * 
+     * @param tituloAnterior Titulo del resumen a reemplazar
+     * @param archivo Archivo de texto con la version nueva del resumen
+     * @return Mensaje de resultado indicando éxito o error especifico
+     */
+    public String actualizarResumen(String tituloAnterior, File archivo) {
+        Resumen anterior = tablaResumenes.get(tituloAnterior);
+        if (anterior == null) return "Error: No existe un resumen con ese título.";
+        
+        Resumen nuevo = lector.leer(archivo);
+        if (nuevo == null) return "Error: No se pudo leer el archivo o formato incorrecto.";
+        
+        if (!nuevo.getTitulo().equals(tituloAnterior) && tablaResumenes.contieneClave(nuevo.getTitulo())) {
+            return "Error: El resumen ya existe en la base de datos.";
+        }
+        
+        // Se quitan los postings del documento viejo y se indexa el nuevo con otro id
+        desindexarResumen(anterior);
+        indexarResumen(nuevo);
+        if (!reescribirBase()) {
+            return "Error: El resumen se actualizó en la sesión, pero no se pudo actualizar la base de datos.";
+        }
+        registrarCambioIndice();
+        
+        return "¡Éxito! Resumen '" + nuevo.getTitulo() + "' actualizado correctamente.";
+    }
+    
     /**
      * Inserta el resumen en la Tabla Hash y en los Arboles AVL.
      * Este metodo es fundamental para mantener la consistencia entre las estructuras de datos.
@@ -143,17 +291,272 @@ public class Controlador {
         // 1. Hash Table - Búsqueda por titulo en O(1)
         tablaResumenes.put(r.getTitulo(), r);
         
-        // 2. Arbol Autores - Búsqueda y ordenamiento eficiente
+        // 2. Id denso: los arboles guardan enteros en lugar de titulos
+        int id = registrarDocumento(r);
+        
+        // 3. Arbol Autores - Búsqueda y ordenamiento eficiente
+        // Las claves salen del diccionario: la clave de colacion se calcula una vez por autor distinto
         for (String autor : r.getAutores()) {
-            // Usamos toLowerCase() para que la búsqueda sea insensible a mayúsculas
-            arbolAutores.insertar(autor.trim(), r.getTitulo());
+            arbolAutores.insertar(colacion(terminos.codificar(normalizarAutor(autor))), id);
         }
         
-        // 3. Arbol Palabras Clave - Busqueda y ordenamiento eficiente
+        // 4. Arbol Palabras Clave - Busqueda y ordenamiento eficiente
+        // La forma en minusculas se calcula una vez por palabra distinta
         for (String palabra : r.getPalabrasClaves()) {
-            // Usamos toLowerCase() para estandarizar la busqueda
-            arbolPalabrasClave.insertar(palabra.trim().toLowerCase(), r.getTitulo());
+            arbolPalabrasClave.insertar(colacion(codigoPalabra(palabra)), id);
         }
+        
+        // 5. Indice posicional del cuerpo
+        indexarTexto(r, id);
+    }
+    
+    /**
+     * Tokeniza el cuerpo del resumen y lo agrega al indice posicional.
+     * 
+     * @param r Resumen a indexar
+     * @param id Id del resumen
+     */
+    private void indexarTexto(Resumen r, int id) {
+        String[] tokens = tokenizar(r.getCuerpo());
+        indiceTexto.agregarDocumento(id, tokens, tokens.length);
+    }
+    
+    /**
+     * Separa un texto en terminos para el indice posicional con el normalizador
+     * del hilo: minusculas, sin acentos y sin puntuacion. Las consultas se tokenizan
+     * igual que los cuerpos.
+     * 
+     * @param texto Texto a separar
+     * @return Terminos en orden de aparicion
+     */
+    private String[] tokenizar(String texto) {
+        return normalizador.get().terminos(texto);
+    }
+    
+    /**
+     * Guarda el indice posicional junto a la base de datos, con los ids compactados
+     * en el mismo orden en que quedan las lineas del archivo.
+     */
+    private void guardarIndiceTexto() {
+        // Un indice de una base que no se pudo escribir no debe quedar como vigente
+        if (baseDesactualizada) return;
+        int[] nuevoId = new int[totalDocumentos];
+        int siguiente = 0;
+        for (int id = 0; id < totalDocumentos; id++) {
+            nuevoId[id] = documentos[id] != null ? siguiente++ : -1;
+        }
+        repositorio.guardarIndice(indiceTexto, nuevoId);
+        cambiosSinGuardar = 0;
+    }
+    
+    /**
+     * Reescribe la base de datos con los resumenes vigentes en memoria.
+     * Si falla, el indice posicional deja de guardarse hasta que una reescritura funcione.
+     * 
+     * @return true si la base quedo igual que la memoria
+     */
+    private boolean reescribirBase() {
+        baseDesactualizada = !repositorio.reescribir(documentos);
+        return !baseDesactualizada;
+    }
+    
+    /**
+     * Anota un cambio en el indice posicional y lo escribe en disco cada
+     * CAMBIOS_POR_GUARDADO cambios, en lugar de reescribirlo en cada alta.
+     * Si la aplicacion termina sin guardar, el archivo no coincide con la base
+     * y el indice se reconstruye al iniciar.
+     */
+    private void registrarCambioIndice() {
+        cambiosSinGuardar++;
+        if (cambiosSinGuardar >= CAMBIOS_POR_GUARDADO) guardarIndiceTexto();
+    }
+    
+    /**
+     * Escribe en disco los cambios del indice posicional que aun no se guardaron.
+     * Se llama al cerrar la aplicacion.
+     */
+    public void guardarPendientes() {
+        if (cambiosSinGuardar > 0) guardarIndiceTexto();
+    }
+    
+    /**
+     * Quita el resumen de la Tabla Hash y sus postings de los Arboles AVL.
+     * Para k autores y palabras clave hay O(k log n) pasos en los arboles; en cada
+     * lista el id se ubica con los puntos de salto y se recorta copiando los bytes,
+     * asi que quitarlo cuesta ademas una copia proporcional al tamaño de la lista.
+     * Lo mismo pasa con las listas de los terminos del cuerpo, que se recorren hasta
+     * el documento sin decodificar posiciones. Las claves que quedan sin documentos
+     * se eliminan del arbol. El id queda libre (null) en el arreglo.
+     * 
+     * @param r Resumen indexado a quitar
+     */
+    private void desindexarResumen(Resumen r) {
+        int id = r.getId();
+        tablaResumenes.remove(r.getTitulo());
+        
+        for (String autor : r.getAutores()) {
+            arbolAutores.eliminarDocumento(colacion(terminos.codificar(normalizarAutor(autor))), id);
+        }
+        for (String palabra : r.getPalabrasClaves()) {
+            arbolPalabrasClave.eliminarDocumento(colacion(codigoPalabra(palabra)), id);
+        }
+        
+        indiceTexto.eliminarDocumento(id);
+        documentos[id] = null;
+        frecuencias[id] = null;
+    }
+    
+    /**
+     * Indexa de una vez los resumenes guardados en disco.
+     * En lugar de insertar clave por clave en los arboles, agrupa los ids por termino
+     * usando el codigo del diccionario, ordena solo los terminos distintos y construye
+     * cada arbol ya balanceado en tiempo lineal.
+     * 
+     * @param resumenes Resumenes leidos del repositorio (puede contener nulls)
+     * @param conTexto true si tambien hay que tokenizar los cuerpos (el indice no se leyo de disco)
+     */
+    private void indexarEnBloque(Resumen[] resumenes, boolean conTexto) {
+        // Posicion = codigo del termino en el diccionario
+        ListaPostings[] porAutor = new ListaPostings[16];
+        ListaPostings[] porPalabra = new ListaPostings[16];
+        
+        for (Resumen r : resumenes) {
+            if (r == null) continue;
+            tablaResumenes.put(r.getTitulo(), r);
+            int id = registrarDocumento(r);
+            
+            // Los ids crecen, asi que cada lista se llena siempre al final
+            for (String autor : r.getAutores()) {
+                porAutor = agruparDocumento(porAutor, terminos.codificar(normalizarAutor(autor)), id);
+            }
+            for (String palabra : r.getPalabrasClaves()) {
+                porPalabra = agruparDocumento(porPalabra, codigoPalabra(palabra), id);
+            }
+            if (conTexto) indexarTexto(r, id);
+        }
+        
+        construirArbol(arbolAutores, porAutor);
+        construirArbol(arbolPalabrasClave, porPalabra);
+    }
+    
+    /**
+     * Agrega un id a la lista del termino indicado, creciendo el arreglo si hace falta.
+     * 
+     * @param listas Listas por codigo de termino
+     * @param codigo Codigo del termino en el diccionario
+     * @param id Id del documento
+     * @return El arreglo de listas (puede ser uno nuevo mas grande)
+     */
+    private ListaPostings[] agruparDocumento(ListaPostings[] listas, int codigo, int id) {
+        if (codigo >= listas.length) {
+            listas = Arrays.copyOf(listas, Math.max(listas.length * 2, codigo + 1));
+        }
+        if (listas[codigo] == null) {
+            listas[codigo] = new ListaPostings();
+        }
+        listas[codigo].agregar(id);
+        return listas;
+    }
+    
+    /**
+     * Ordena los terminos que tienen documentos y construye el arbol balanceado.
+     * Terminos distintos con la misma clave de colacion (por ejemplo "Ávila" y "avila")
+     * quedan en un solo nodo con la union de sus listas.
+     * 
+     * @param arbol Arbol a construir (se reemplaza su contenido)
+     * @param porCodigo Listas de ids por codigo de termino
+     */
+    private void construirArbol(ArbolAVLPersistente<ClaveColacion> arbol, ListaPostings[] porCodigo) {
+        int cantidad = 0;
+        for (ListaPostings lista : porCodigo) {
+            if (lista != null) cantidad++;
+        }
+        
+        Integer[] codigos = new Integer[cantidad];
+        int k = 0;
+        for (int codigo = 0; codigo < porCodigo.length; codigo++) {
+            if (porCodigo[codigo] != null) codigos[k++] = codigo;
+        }
+        // Se ordena comparando bytes de las claves ya calculadas, sin usar el Collator
+        Arrays.sort(codigos, (a, b) -> colacion(a).compareTo(colacion(b)));
+        
+        ClaveColacion[] claves = new ClaveColacion[cantidad];
+        ListaPostings[] listas = new ListaPostings[cantidad];
+        int distintas = 0;
+        for (int codigo : codigos) {
+            ClaveColacion clave = colacion(codigo);
+            if (distintas > 0 && claves[distintas - 1].equals(clave)) {
+                listas[distintas - 1] = ListaPostings.unir(listas[distintas - 1], porCodigo[codigo]);
+            } else {
+                claves[distintas] = clave;
+                listas[distintas++] = porCodigo[codigo];
+            }
+        }
+        arbol.construir(claves, listas, distintas);
+    }
+    
+    /**
+     * Codigo en el diccionario de la forma indexada (en minusculas) de una palabra clave.
+     * 
+     * @param palabra Palabra clave tal como esta en el resumen
+     * @return Codigo del termino
+     */
+    private int codigoPalabra(String palabra) {
+        return terminos.codificar(terminos.minusculas(palabra.trim()));
+    }
+    
+    /**
+     * Clave de colacion de un termino del diccionario, calculada la primera vez que se pide.
+     * 
+     * @param codigo Codigo del termino
+     * @return Clave para los arboles AVL
+     */
+    private ClaveColacion colacion(int codigo) {
+        if (codigo >= colaciones.length) {
+            colaciones = Arrays.copyOf(colaciones, Math.max(colaciones.length * 2, codigo + 1));
+        }
+        if (colaciones[codigo] == null) {
+            colaciones[codigo] = ClaveColacion.de(terminos.termino(codigo));
+        }
+        return colaciones[codigo];
+    }
+    
+    /**
+     * Asigna al resumen el siguiente id libre y lo guarda en el arreglo de documentos.
+     * Los ids son crecientes, por lo que las listas de postings se llenan siempre al final.
+     * 
+     * @param r Resumen a registrar
+     * @return id asignado
+     */
+    private int registrarDocumento(Resumen r) {
+        if (totalDocumentos == documentos.length) {
+            Resumen[] nuevo = new Resumen[documentos.length * 2];
+            System.arraycopy(documentos, 0, nuevo, 0, totalDocumentos);
+            documentos = nuevo;
+            frecuencias = Arrays.copyOf(frecuencias, documentos.length);
+        }
+        int id = totalDocumentos++;
+        documentos[id] = r;
+        frecuencias[id] = calcularFrecuencias(r);
+        r.setId(id);
+        return id;
+    }
+    
+    /**
+     * Cuenta una sola vez las palabras clave del resumen en su cuerpo y guarda el
+     * resultado por codigo de termino, para no volver a recorrer el texto al analizar.
+     * 
+     * @param r Resumen a procesar
+     * @return Vector de frecuencias del resumen
+     */
+    private VectorFrecuencias calcularFrecuencias(Resumen r) {
+        String[] palabras = r.getPalabrasClaves();
+        int[] conteos = analizador.frecuenciasPalabrasClave(r);
+        int[] codigos = new int[palabras.length];
+        for (int i = 0; i < palabras.length; i++) {
+            codigos[i] = codigoPalabra(palabras[i]);
+        }
+        return new VectorFrecuencias(codigos, conteos, palabras.length);
     }
     
     /**
@@ -175,8 +578,13 @@ public class Controlador {
      * @return Lista enlazada con los resúmenes del autor especificado
      */
     public ListaEnlazada<Resumen> buscarPorAutor(String autor) {
-        ListaEnlazada<String> titulos = arbolAutores.obtenerTitulos(autor);
-        return convertirTitulosAResumenes(titulos);
+        ClaveColacion busqueda = claveAutor(autor);
+        Congelado congelado = autoresCongelados;
+        if (congelado != null) {
+            if (congelado.vigente()) return resumenesDeIds(congelado.indice.obtenerDocumentos(busqueda));
+            autoresCongelados = null; // el arbol cambio: la copia plana ya no se usa
+        }
+        return convertirDocumentosAResumenes(arbolAutores.obtenerDocumentos(busqueda));
     }
 
     /**
@@ -187,25 +595,163 @@ public class Controlador {
      * @return Lista enlazada con los resumenes que contienen la palabra clave
      */
     public estructuras.ListaEnlazada<Resumen> buscarPorPalabraClave(String palabra) {
-        // Convertimos lo que escribió el usuario a minuscula antes de buscar en el arbol
-        String busqueda = palabra.trim().toLowerCase();
+        // Una sola clave de colacion por consulta; el arbol compara bytes
+        ClaveColacion busqueda = clavePalabra(palabra);
+        Congelado congelado = palabrasCongeladas;
+        if (congelado != null) {
+            if (congelado.vigente()) return resumenesDeIds(congelado.indice.obtenerDocumentos(busqueda));
+            palabrasCongeladas = null; // el arbol cambio: la copia plana ya no se usa
+        }
+        return convertirDocumentosAResumenes(arbolPalabrasClave.obtenerDocumentos(busqueda));
+    }
+    
+    /**
+     * Busca investigaciones con una consulta booleana que combina autores y palabras clave.
+     * Ejemplo: {@code autor:José Invernón AND palabra:diseño AND NOT palabra:grid}.
+     * Soporta AND, OR, NOT (en mayusculas), parentesis y valores entre comillas.
+     * 
+     * @param consulta Expresion de busqueda
+     * @return Lista enlazada con los resumenes que cumplen la consulta, en orden de id
+     * @throws IllegalArgumentException si la consulta esta mal formada
+     */
+    public ListaEnlazada<Resumen> buscarAvanzada(String consulta) {
+        return resumenesDeIds(motorConsultas.evaluar(consulta, totalDocumentos));
+    }
+    
+    /**
+     * Busca en el cuerpo de los resumenes usando el indice posicional, sin leer los textos.
+     * Una sola palabra se busca como termino; varias, como frase exacta (las palabras
+     * seguidas y en ese orden). Mayusculas y signos de puntuacion se ignoran.
+     * 
+     * @param texto Palabra o frase a buscar
+     * @return Lista enlazada con los resumenes que la contienen, en orden de id
+     */
+    public ListaEnlazada<Resumen> buscarEnCuerpo(String texto) {
+        String[] tokens = tokenizar(texto);
+        int[] ids = tokens.length == 1
+                ? indiceTexto.buscarTermino(tokens[0])
+                : indiceTexto.buscarFrase(tokens, tokens.length);
+        return resumenesDeIds(ids);
+    }
+    
+    /**
+     * Busqueda por relevancia: puntua con BM25 el cuerpo y las palabras clave de cada
+     * resumen que coincide con la consulta y devuelve solo los k mejores.
+     * La consulta se separa en terminos igual que los cuerpos; como palabra clave se
+     * busca la consulta completa y, si tiene varias palabras, tambien cada una.
+     * 
+     * @param consulta Texto libre a buscar
+     * @param k Cantidad maxima de resultados
+     * @return Lista enlazada con los resumenes, del mas al menos relevante
+     */
+    public ListaEnlazada<Resumen> buscarRankeado(String consulta, int k) {
+        String[] tokens = tokenizar(consulta);
+        
+        // Terminos sin repetir: la consulta suele tener pocas palabras
+        String[] terminos = new String[tokens.length];
+        int cantidad = 0;
+        for (String t : tokens) {
+            boolean repetido = false;
+            for (int i = 0; i < cantidad && !repetido; i++) repetido = terminos[i].equals(t);
+            if (!repetido) terminos[cantidad++] = t;
+        }
+        terminos = Arrays.copyOf(terminos, cantidad);
+        
+        ClaveColacion[] palabras = new ClaveColacion[cantidad > 1 ? cantidad + 1 : 1];
+        int cantidadPalabras = 0;
+        palabras[cantidadPalabras++] = clavePalabra(consulta);
+        if (cantidad > 1) {
+            for (String t : terminos) {
+                ClaveColacion clave = clavePalabra(t);
+                boolean repetida = false;
+                for (int i = 0; i < cantidadPalabras && !repetida; i++) repetida = palabras[i].equals(clave);
+                if (!repetida) palabras[cantidadPalabras++] = clave;
+            }
+        }
+        palabras = Arrays.copyOf(palabras, cantidadPalabras);
         
-        ListaEnlazada<String> titulos = arbolPalabrasClave.obtenerTitulos(busqueda);
-        return convertirTitulosAResumenes(titulos);
+        return resumenesDeIds(ranking.buscar(terminos, palabras, totalDocumentos, k));
+    }
+    
+    /**
+     * Convierte ids en la lista de sus resumenes, en el mismo orden y omitiendo los eliminados.
+     * 
+     * @param ids Ids de documentos
+     * @return Lista enlazada de resumenes
+     */
+    private ListaEnlazada<Resumen> resumenesDeIds(int[] ids) {
+        ListaEnlazada<Resumen> resultados = new ListaEnlazada<>();
+        for (int id : ids) {
+            if (documentos[id] != null) resultados.agregar(documentos[id]);
+        }
+        return resultados;
+    }
+    
+    /**
+     * Forma canonica de un autor dentro del indice.
+     * 
+     * @param autor Nombre tal como viene del archivo o del usuario
+     * @return Clave usada en el arbol de autores
+     */
+    static String normalizarAutor(String autor) {
+        return autor.trim();
+    }
+    
+    /**
+     * Forma canonica de una palabra clave dentro del indice.
+     * Usamos toLowerCase() para que la busqueda sea insensible a mayusculas.
+     * 
+     * @param palabra Palabra clave tal como viene del archivo o del usuario
+     * @return Clave usada en el arbol de palabras clave
+     */
+    static String normalizarPalabra(String palabra) {
+        return palabra.trim().toLowerCase();
+    }
+    
+    /**
+     * Clave de busqueda de un autor escrito por el usuario.
+     * Ignora acentos y mayusculas: "avila" encuentra a "Ávila".
+     * 
+     * @param autor Nombre del autor a buscar
+     * @return Clave para el arbol de autores
+     */
+    static ClaveColacion claveAutor(String autor) {
+        return ClaveColacion.de(normalizarAutor(autor));
+    }
+    
+    /**
+     * Clave de busqueda de una palabra clave escrita por el usuario.
+     * 
+     * @param palabra Palabra clave a buscar
+     * @return Clave para el arbol de palabras clave
+     */
+    static ClaveColacion clavePalabra(String palabra) {
+        return ClaveColacion.de(normalizarPalabra(palabra));
+    }
+    
+    /**
+     * Adapta una vista de entradas de un arbol a la vista de sus textos.
+     * 
+     * @param entradas Entradas de un arbol de autores o palabras clave
+     * @return Vista perezosa de los textos de las claves
+     */
+    private static Iterable<String> textos(Iterable<ArbolAVL.Entrada<ClaveColacion>> entradas) {
+        return ArbolAVL.claves(entradas, ClaveColacion::getTexto);
     }
     
     /**
-     * Metodo auxiliar para convertir una lista de títulos 
+     * Metodo auxiliar para convertir una lista de ids de documentos
      * en una lista de objetos Resumen.
-     * Garantiza la integridad de los datos durante la conversion.
+     * Cada id se resuelve por posicion en el arreglo de documentos, sin hashing.
      * 
-     * @param titulos Lista de títulos obtenida del Árbol AVL
+     * @param ids Lista de ids obtenida del Árbol AVL
      * @return Lista de objetos Resumen completos
      */
-    private ListaEnlazada<Resumen> convertirTitulosAResumenes(ListaEnlazada<String> titulos) {
+    private ListaEnlazada<Resumen> convertirDocumentosAResumenes(ListaPostings ids) {
         ListaEnlazada<Resumen> resultados = new ListaEnlazada<>();
-        for (String titulo : titulos) {
-            Resumen r = tablaResumenes.get(titulo);
+        ListaPostings.Cursor cursor = ids.cursor();
+        while (cursor.siguiente()) {
+            Resumen r = documentos[cursor.actual()];
             if (r != null) {
                 resultados.agregar(r);
             }
@@ -217,38 +763,169 @@ public class Controlador {
      * Genera un analisis completo de frecuencias de palabras clave para un resumen.
      * 
      * @param r Resumen a analizar
-     * @return String formateado con el reporte de análisis
+     * @return Titulo, autores y frecuencia de cada palabra clave
+     */
+    public ResultadoAnalisis analizarResumen(Resumen r) {
+        VectorFrecuencias vector = vectorDe(r);
+        if (vector == null) return analizador.analizar(r);
+        
+        // Las frecuencias ya estan calculadas: solo se buscan por codigo
+        String[] palabras = r.getPalabrasClaves();
+        int[] conteos = new int[palabras.length];
+        for (int i = 0; i < palabras.length; i++) {
+            conteos[i] = vector.frecuencia(codigoPalabra(palabras[i]));
+        }
+        return analizador.analizar(r, conteos);
+    }
+    
+    /**
+     * Analiza varios resumenes de una vez, por ejemplo los resultados de una busqueda.
+     * 
+     * @param resumenes Resumenes a analizar
+     * @return Un resultado por resumen, en el mismo orden
+     */
+    public ListaEnlazada<ResultadoAnalisis> analizarTodos(ListaEnlazada<Resumen> resumenes) {
+        ListaEnlazada<ResultadoAnalisis> resultados = new ListaEnlazada<>();
+        for (Resumen r : resumenes) {
+            resultados.agregar(analizarResumen(r));
+        }
+        return resultados;
+    }
+    
+    /**
+     * Frecuencia de una palabra clave en el cuerpo de cada resumen de una lista, sin
+     * recorrer los textos. La palabra se compara igual que en
+     * {@link #buscarPorPalabraClave(String)}, sin distinguir mayusculas ni acentos, y su
+     * clave de colacion se calcula una sola vez para toda la lista.
+     * 
+     * @param resumenes Resumenes indexados (por ejemplo los resultados de una busqueda)
+     * @param palabra Palabra clave (por ejemplo la seleccionada en la lista)
+     * @return Apariciones en cada resumen, en el orden de la lista
+     */
+    public int[] frecuenciasPalabraClave(ListaEnlazada<Resumen> resumenes, String palabra) {
+        ClaveColacion clave = clavePalabra(palabra);
+        int[] conteos = new int[resumenes.size()];
+        int i = 0;
+        for (Resumen r : resumenes) {
+            conteos[i++] = frecuenciaPalabraClave(r, clave);
+        }
+        return conteos;
+    }
+    
+    /**
+     * Frecuencia de una palabra clave en el cuerpo de un resumen, a partir de su vector.
+     * 
+     * @param r Resumen indexado
+     * @param clave Clave de colacion de la palabra
+     * @return Apariciones de la palabra en el cuerpo, 0 si no es palabra clave del resumen
+     */
+    private int frecuenciaPalabraClave(Resumen r, ClaveColacion clave) {
+        VectorFrecuencias vector = vectorDe(r);
+        if (vector == null) return 0;
+        
+        for (int i = 0; i < vector.size(); i++) {
+            if (colacion(vector.codigo(i)).equals(clave)) return vector.conteo(i);
+        }
+        return 0;
+    }
+    
+    /**
+     * Vector de frecuencias guardado para un resumen indexado.
+     * 
+     * @param r Resumen
+     * @return Vector del resumen, o null si el resumen no esta indexado en este controlador
+     */
+    private VectorFrecuencias vectorDe(Resumen r) {
+        int id = r.getId();
+        if (id < 0 || id >= totalDocumentos || documentos[id] != r) return null;
+        return frecuencias[id];
+    }
+    
+    /**
+     * Reporte de todas las palabras clave registradas sobre el cuerpo de todos los
+     * resumenes: frecuencia global, cantidad de resumenes donde aparece cada una y en
+     * cuales. El analisis se reparte entre los nucleos disponibles.
+     * 
+     * @return Reporte del corpus, con las palabras en orden alfabetico
      */
-    public String analizarResumen(Resumen r) {
-        return analizador.analizar(r);
+    public ReporteCorpus generarReporteCorpus() {
+        // Cantidad y palabras de la misma version del arbol
+        ListadoOrdenado listado = listadoPalabrasClave();
+        String[] palabras = new String[listado.size()];
+        int i = 0;
+        for (String palabra : listado.recorrido()) palabras[i++] = palabra;
+        
+        // Copia de los resumenes vigentes (los eliminados quedan en null y se omiten)
+        Resumen[] resumenes = Arrays.copyOf(documentos, totalDocumentos);
+        return analizador.analizarCorpus(resumenes, palabras);
     }
     
     /**
      * Obtiene todos los titulos guardados (util para llenar listas en la GUI).
      * 
-     * @return Lista enlazada con todos los titulos de resúmenes almacenados
+     * @return Vista de los titulos de resúmenes almacenados (se recorre sin copiarlos)
      */
-    public ListaEnlazada<String> obtenerTodosLosTitulos() {
-        return tablaResumenes.claves();
+    public Iterable<String> obtenerTodosLosTitulos() {
+        return tablaResumenes.vistaClaves();
     }
     
     /**
-     * Obtiene la lista de todos los autores ordenados alfabeticamente.
-     * Usa el recorrido InOrden del Árbol AVL para garantizar el orden.
+     * Obtiene todos los autores ordenados alfabeticamente.
+     * Usa el recorrido InOrden perezoso del Árbol AVL: no copia los nombres.
      * 
-     * @return Lista enlazada con autores ordenados alfabeticamente
+     * @return Vista de los autores ordenados alfabeticamente
      */
-    public ListaEnlazada<String> obtenerAutoresRegistrados() {
-        return arbolAutores.inorden();
+    public Iterable<String> obtenerAutoresRegistrados() {
+        return textos(arbolAutores.recorrido());
     }
     
     /**
      * Obtiene todas las palabras clave ordenadas alfabeticamente.
-     * Utiliza el recorrido InOrden del Arbol AVL de palabras clave.
+     * Utiliza el recorrido InOrden perezoso del Arbol AVL de palabras clave.
+     * 
+     * @return Vista de las palabras clave ordenadas alfabeticamente
+     */
+    public Iterable<String> obtenerPalabrasClaveListadas() {
+        return textos(arbolPalabrasClave.recorrido());
+    }
+    
+    /**
+     * Fija la version actual de los autores para paginarla (por ejemplo en un combo).
+     * El total y cada pagina del listado son de esa misma version.
+     * 
+     * @return Listado de los autores en orden alfabetico
+     */
+    public ListadoOrdenado listadoAutores() {
+        return new ListadoOrdenado(arbolAutores.instantanea());
+    }
+    
+    /**
+     * Fija la version actual de las palabras clave para paginarla.
+     * 
+     * @return Listado de las palabras clave en orden alfabetico
+     */
+    public ListadoOrdenado listadoPalabrasClave() {
+        return new ListadoOrdenado(arbolPalabrasClave.instantanea());
+    }
+    
+    /**
+     * Obtiene los autores cuyo nombre empieza con el prefijo indicado (autocompletado).
+     * Solo se recorre el subarbol que contiene esos autores; no distingue acentos ni mayusculas.
+     * 
+     * @param prefijo Inicio del nombre, por ejemplo "M"
+     * @return Vista de los autores con ese prefijo, en orden alfabetico
+     */
+    public Iterable<String> buscarAutoresPorPrefijo(String prefijo) {
+        return textos(arbolAutores.prefijo(claveAutor(prefijo)));
+    }
+    
+    /**
+     * Obtiene las palabras clave que empiezan con el prefijo indicado (autocompletado).
      * 
-     * @return Lista enlazada con palabras clave ordenadas alfabeticamente
+     * @param prefijo Inicio de la palabra clave
+     * @return Vista de las palabras clave con ese prefijo, en orden alfabetico
      */
-    public ListaEnlazada<String> obtenerPalabrasClaveListadas() {
-        return arbolPalabrasClave.inorden();
+    public Iterable<String> buscarPalabrasPorPrefijo(String prefijo) {
+        return textos(arbolPalabrasClave.prefijo(clavePalabra(prefijo)));
     }
 }
\ No newline at end of file
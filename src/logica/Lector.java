@@ -4,6 +4,7 @@
  */
 package logica;
 
+import estructuras.DiccionarioTerminos;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader; 
@@ -18,6 +19,27 @@ import modelo.Resumen;
  */
 public class Lector {
 
+    // Autores y palabras clave se guardan como instancias canonicas compartidas
+    private final DiccionarioTerminos diccionario;
+    
+    // Compara los encabezados sin mayusculas, acentos ni puntuacion
+    private final Normalizador normalizador = new Normalizador();
+
+    /**
+     * Crea un lector con su propio diccionario de terminos.
+     */
+    public Lector() {
+        this(new DiccionarioTerminos());
+    }
+
+    /**
+     * Crea un lector que comparte el diccionario de terminos indicado.
+     * @param diccionario Diccionario donde se registran autores y palabras clave.
+     */
+    public Lector(DiccionarioTerminos diccionario) {
+        this.diccionario = diccionario;
+    }
+
     /**
      * Lee un archivo .txt y extrae la informacion estructurada.
      * Utiliza FileReader para compatibilidad con la codificacion por defecto del sistema.
@@ -53,15 +75,16 @@ public class Lector {
                 }
 
                 // 2. Deteccion de secciones
-                if (linea.equalsIgnoreCase("Autores")) {
+                String encabezado = normalizador.normalizar(linea);
+                if (encabezado.equals("autores")) {
                     leyendoAutores = true;
                     leyendoResumen = false;
                     continue; 
-                } else if (linea.equalsIgnoreCase("Resumen")) {
+                } else if (encabezado.equals("resumen")) {
                     leyendoAutores = false;
                     leyendoResumen = true;
                     continue;
-                } else if (linea.toLowerCase().startsWith("palabras claves") || linea.toLowerCase().startsWith("palabras clave")) {
+                } else if (encabezado.startsWith("palabras clave")) {
                     // Palabras Clave
                     leyendoResumen = false;
                     int indiceDosPuntos = linea.indexOf(":");
@@ -75,7 +98,7 @@ public class Lector {
                         // Separar por comas y limpiar espacios
                         palabrasClaves = listaPalabras.split(",");
                         for(int i=0; i < palabrasClaves.length; i++) {
-                            palabrasClaves[i] = palabrasClaves[i].trim();
+                            palabrasClaves[i] = diccionario.canonico(palabrasClaves[i].trim());
                         }
                     }
                     break; // Termina de leer al encontrar las palabras clave
@@ -98,7 +121,7 @@ public class Lector {
                 
                 // Recorremos cada autor para quitar guiones y espacios extra
                 for (int i = 0; i < autores.length; i++) {
-                    autores[i] = autores[i].replace("-", " ").trim();
+                    autores[i] = diccionario.canonico(autores[i].replace("-", " ").trim());
                 }
                 // -------------------------------------------
             }
@@ -123,7 +146,7 @@ public class Lector {
      * @return true si es una palabra reservada, false en caso contrario.
      */
     private boolean esPalabraReservada(String linea) {
-        String texto = linea.toLowerCase();
+        String texto = normalizador.normalizar(linea);
         return texto.equals("autores") || texto.equals("resumen") || texto.startsWith("palabras clave");
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package logica;
+
+import estructuras.ArbolAVL;
+import estructuras.ArbolAVLPersistente;
+import estructuras.ClaveColacion;
+
+/**
+ * Autores o palabras clave en orden alfabetico, tal como estaban en una version del arbol.
+ * La cantidad y las paginas salen de la misma version, asi una escritura concurrente
+ * no puede dejar una pagina fuera del total (por ejemplo en un combo paginado).
+ * Se obtiene con {@link Controlador#listadoAutores()} o
+ * {@link Controlador#listadoPalabrasClave()}.
+ * @author COMPUGAMER
+ */
+public class ListadoOrdenado {
+
+    private final ArbolAVLPersistente.Instantanea<ClaveColacion> version;
+
+    /**
+     * Crea el listado sobre una version fija.
+     * @param version Version del arbol de autores o de palabras clave.
+     */
+    ListadoOrdenado(ArbolAVLPersistente.Instantanea<ClaveColacion> version) {
+        this.version = version;
+    }
+
+    /**
+     * @return Cantidad de elementos del listado.
+     */
+    public int size() {
+        return version.size();
+    }
+
+    /**
+     * Pagina del listado. Ubicar el inicio cuesta O(log n), sin recorrer los anteriores.
+     * @param desplazamiento Posicion del primer elemento de la pagina (desde 0).
+     * @param limite Cantidad maxima de elementos.
+     * @return Vista de los textos de la pagina.
+     */
+    public Iterable<String> pagina(int desplazamiento, int limite) {
+        return ArbolAVL.claves(version.pagina(desplazamiento, limite), ClaveColacion::getTexto);
+    }
+
+    /**
+     * @return Vista de todos los textos, en orden.
+     */
+    public Iterable<String> recorrido() {
+        return ArbolAVL.claves(version.recorrido(), ClaveColacion::getTexto);
+    }
+}
@@ -0,0 +1,457 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package logica;
+
+import estructuras.ArbolAVLPersistente;
+import estructuras.ClaveColacion;
+import estructuras.ListaPostings;
+
+/**
+ * Motor de consultas booleanas sobre los indices de autores y palabras clave.
+ * Acepta expresiones como {@code autor:X AND palabra:redes AND NOT palabra:grafos},
+ * con OR, parentesis y valores entre comillas. Si se omite el operador entre dos
+ * terminos se asume AND.
+ *
+ * <p>La evaluacion trabaja sobre listas de ids ordenadas. En cada AND el planificador
+ * ordena los operandos por tamano y parte del mas pequeno; el resto se cruza con
+ * busqueda galopante (sobre los puntos de salto de las listas de postings), de modo
+ * que el costo depende del operando menor y no del mayor.</p>
+ *
+ * @author COMPUGAMER
+ */
+public class MotorConsultas {
+
+    private final ArbolAVLPersistente<ClaveColacion> arbolAutores;
+    private final ArbolAVLPersistente<ClaveColacion> arbolPalabrasClave;
+
+    /**
+     * Crea un motor sobre los indices del controlador.
+     * @param arbolAutores Indice de autores.
+     * @param arbolPalabrasClave Indice de palabras clave.
+     */
+    public MotorConsultas(ArbolAVLPersistente<ClaveColacion> arbolAutores, ArbolAVLPersistente<ClaveColacion> arbolPalabrasClave) {
+        this.arbolAutores = arbolAutores;
+        this.arbolPalabrasClave = arbolPalabrasClave;
+    }
+
+    /**
+     * Evalua una consulta y devuelve los ids de documentos que la cumplen.
+     * @param consulta Texto de la consulta.
+     * @param totalDocumentos Cantidad de ids validos (necesaria para resolver NOT sin terminos positivos).
+     * @return Arreglo ordenado de ids de documentos.
+     * @throws IllegalArgumentException si la consulta esta mal formada.
+     */
+    public int[] evaluar(String consulta, int totalDocumentos) {
+        Parser parser = new Parser(tokenizar(consulta));
+        Expresion expr = parser.expresion();
+        if (!parser.fin()) {
+            throw new IllegalArgumentException("Consulta mal formada cerca de: " + parser.actual());
+        }
+        return expr.evaluar(totalDocumentos);
+    }
+
+    // --- Arbol de la expresion ---
+
+    /**
+     * Nodo de la expresion booleana.
+     */
+    private abstract static class Expresion {
+        /**
+         * Cota superior de la cantidad de resultados, usada por el planificador.
+         * @return Tamano estimado sin evaluar la expresion.
+         */
+        abstract int tamanoEstimado();
+
+        /**
+         * Evalua la expresion.
+         * @param total Cantidad de documentos.
+         * @return Ids ordenados que cumplen la expresion.
+         */
+        abstract int[] evaluar(int total);
+    }
+
+    /**
+     * Termino simple: un autor o una palabra clave.
+     */
+    private static class Termino extends Expresion {
+        final ListaPostings postings;
+
+        Termino(ListaPostings postings) {
+            this.postings = postings;
+        }
+
+        @Override
+        int tamanoEstimado() {
+            return postings.size();
+        }
+
+        @Override
+        int[] evaluar(int total) {
+            return postings.aArreglo();
+        }
+    }
+
+    /**
+     * Negacion de una subexpresion.
+     */
+    private static class Negacion extends Expresion {
+        final Expresion operando;
+
+        Negacion(Expresion operando) {
+            this.operando = operando;
+        }
+
+        @Override
+        int tamanoEstimado() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        int[] evaluar(int total) {
+            // Solo se llega aqui si el NOT no tiene terminos positivos con que cruzarse
+            int[] universo = new int[total];
+            for (int i = 0; i < total; i++) universo[i] = i;
+            return restar(universo, operando, total);
+        }
+    }
+
+    /**
+     * Conjuncion de varias subexpresiones.
+     */
+    private static class Conjuncion extends Expresion {
+        final Expresion[] operandos;
+
+        Conjuncion(Expresion[] operandos) {
+            this.operandos = operandos;
+        }
+
+        @Override
+        int tamanoEstimado() {
+            int menor = Integer.MAX_VALUE;
+            for (Expresion e : operandos) menor = Math.min(menor, e.tamanoEstimado());
+            return menor;
+        }
+
+        @Override
+        int[] evaluar(int total) {
+            // Planificador: positivos de menor a mayor, las negaciones al final
+            Expresion[] plan = operandos.clone();
+            ordenarPorTamano(plan);
+
+            int[] resultado = null;
+            for (Expresion e : plan) {
+                if (resultado != null && resultado.length == 0) break;
+                if (e instanceof Negacion) {
+                    if (resultado == null) resultado = e.evaluar(total);
+                    else resultado = restar(resultado, ((Negacion) e).operando, total);
+                } else if (resultado == null) {
+                    resultado = e.evaluar(total);
+                } else {
+                    resultado = intersectar(resultado, e, total);
+                }
+            }
+            return resultado == null ? new int[0] : resultado;
+        }
+    }
+
+    /**
+     * Disyuncion de varias subexpresiones.
+     */
+    private static class Disyuncion extends Expresion {
+        final Expresion[] operandos;
+
+        Disyuncion(Expresion[] operandos) {
+            this.operandos = operandos;
+        }
+
+        @Override
+        int tamanoEstimado() {
+            long suma = 0;
+            for (Expresion e : operandos) suma += e.tamanoEstimado();
+            return (int) Math.min(Integer.MAX_VALUE, suma);
+        }
+
+        @Override
+        int[] evaluar(int total) {
+            // Se une de menor a mayor para que las mezclas intermedias sean cortas
+            Expresion[] plan = operandos.clone();
+            ordenarPorTamano(plan);
+            int[] resultado = plan[0].evaluar(total);
+            for (int i = 1; i < plan.length; i++) {
+                resultado = unir(resultado, plan[i].evaluar(total));
+            }
+            return resultado;
+        }
+    }
+
+    // --- Operaciones sobre listas de ids ---
+
+    /**
+     * Ordena las expresiones por tamano estimado (insercion: pocas expresiones por nodo).
+     */
+    private static void ordenarPorTamano(Expresion[] plan) {
+        for (int i = 1; i < plan.length; i++) {
+            Expresion e = plan[i];
+            int j = i - 1;
+            while (j >= 0 && plan[j].tamanoEstimado() > e.tamanoEstimado()) {
+                plan[j + 1] = plan[j];
+                j--;
+            }
+            plan[j + 1] = e;
+        }
+    }
+
+    /**
+     * Cruza los candidatos con otra expresion.
+     * Si es un termino se recorre su lista comprimida con saltos; si no, se evalua y se galopa sobre el arreglo.
+     */
+    private static int[] intersectar(int[] candidatos, Expresion e, int total) {
+        int[] salida = new int[candidatos.length];
+        int n = 0;
+        if (e instanceof Termino) {
+            ListaPostings.Cursor cursor = ((Termino) e).postings.cursor();
+            for (int id : candidatos) {
+                if (!cursor.avanzarHasta(id)) break;
+                if (cursor.actual() == id) salida[n++] = id;
+            }
+        } else {
+            int[] otros = e.evaluar(total);
+            int desde = 0;
+            for (int id : candidatos) {
+                desde = galopar(otros, desde, id);
+                if (desde == otros.length) break;
+                if (otros[desde] == id) salida[n++] = id;
+            }
+        }
+        return recortar(salida, n);
+    }
+
+    /**
+     * Quita de los candidatos los ids que cumplen la expresion.
+     */
+    private static int[] restar(int[] candidatos, Expresion e, int total) {
+        int[] salida = new int[candidatos.length];
+        int n = 0;
+        if (e instanceof Termino) {
+            ListaPostings.Cursor cursor = ((Termino) e).postings.cursor();
+            boolean quedan = true;
+            for (int id : candidatos) {
+                if (quedan) quedan = cursor.avanzarHasta(id);
+                if (!quedan || cursor.actual() != id) salida[n++] = id;
+            }
+        } else {
+            int[] excluidos = e.evaluar(total);
+            int desde = 0;
+            for (int id : candidatos) {
+                desde = galopar(excluidos, desde, id);
+                if (desde == excluidos.length || excluidos[desde] != id) salida[n++] = id;
+            }
+        }
+        return recortar(salida, n);
+    }
+
+    /**
+     * Mezcla dos listas ordenadas sin repetidos.
+     */
+    private static int[] unir(int[] a, int[] b) {
+        int[] salida = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) salida[n++] = a[i++];
+            else if (a[i] > b[j]) salida[n++] = b[j++];
+            else { salida[n++] = a[i++]; j++; }
+        }
+        while (i < a.length) salida[n++] = a[i++];
+        while (j < b.length) salida[n++] = b[j++];
+        return recortar(salida, n);
+    }
+
+    /**
+     * Busqueda galopante: primer indice en [desde, length) con valor mayor o igual a objetivo.
+     */
+    private static int galopar(int[] arreglo, int desde, int objetivo) {
+        int paso = 1;
+        int bajo = desde;
+        int alto = desde;
+        while (alto < arreglo.length && arreglo[alto] < objetivo) {
+            bajo = alto + 1;
+            alto = desde + paso;
+            paso <<= 1;
+        }
+        if (alto > arreglo.length) alto = arreglo.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (arreglo[medio] < objetivo) bajo = medio + 1;
+            else alto = medio;
+        }
+        return bajo;
+    }
+
+    private static int[] recortar(int[] arreglo, int n) {
+        if (n == arreglo.length) return arreglo;
+        int[] copia = new int[n];
+        System.arraycopy(arreglo, 0, copia, 0, n);
+        return copia;
+    }
+
+    // --- Analisis lexico y sintactico ---
+
+    /**
+     * Separa la consulta en simbolos: parentesis, palabras y frases entre comillas.
+     * Las frases entre comillas se marcan con una comilla inicial.
+     */
+    private static String[] tokenizar(String consulta) {
+        if (consulta == null) throw new IllegalArgumentException("Consulta vacia.");
+        String[] tokens = new String[Math.max(4, consulta.length())];
+        int n = 0;
+        int i = 0;
+        while (i < consulta.length()) {
+            char c = consulta.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens[n++] = String.valueOf(c);
+                i++;
+            } else if (c == '"') {
+                int fin = consulta.indexOf('"', i + 1);
+                if (fin == -1) throw new IllegalArgumentException("Falta cerrar comillas.");
+                tokens[n++] = consulta.substring(i, fin);
+                i = fin + 1;
+            } else {
+                int inicio = i;
+                while (i < consulta.length() && !Character.isWhitespace(consulta.charAt(i))
+                        && consulta.charAt(i) != '(' && consulta.charAt(i) != ')') {
+                    // Se corta despues de "campo:" para leer el valor (o la frase entre comillas) aparte
+                    if (consulta.charAt(i) == ':') { i++; break; }
+                    i++;
+                }
+                tokens[n++] = consulta.substring(inicio, i);
+            }
+        }
+        String[] resultado = new String[n];
+        System.arraycopy(tokens, 0, resultado, 0, n);
+        return resultado;
+    }
+
+    /**
+     * Analizador descendente recursivo:
+     * <pre>
+     * expresion := conjuncion (OR conjuncion)*
+     * conjuncion := unario ([AND] unario)*
+     * unario := NOT unario | '(' expresion ')' | campo ':' valor
+     * </pre>
+     */
+    private class Parser {
+        private final String[] tokens;
+        private int pos;
+        // Todos los terminos de la consulta se resuelven sobre la misma version de cada arbol
+        private final ArbolAVLPersistente.Instantanea<ClaveColacion> autores;
+        private final ArbolAVLPersistente.Instantanea<ClaveColacion> palabras;
+
+        Parser(String[] tokens) {
+            this.tokens = tokens;
+            this.pos = 0;
+            this.autores = arbolAutores.instantanea();
+            this.palabras = arbolPalabrasClave.instantanea();
+        }
+
+        boolean fin() {
+            return pos >= tokens.length;
+        }
+
+        String actual() {
+            return fin() ? "<fin>" : tokens[pos];
+        }
+
+        /** Los operadores van en mayusculas para no confundirlos con palabras del valor. */
+        private boolean es(String operador) {
+            return !fin() && tokens[pos].equals(operador);
+        }
+
+        Expresion expresion() {
+            Expresion primero = conjuncion();
+            if (!es("OR")) return primero;
+            Expresion[] partes = new Expresion[4];
+            int n = 0;
+            partes[n++] = primero;
+            while (es("OR")) {
+                pos++;
+                if (n == partes.length) partes = ampliar(partes);
+                partes[n++] = conjuncion();
+            }
+            return new Disyuncion(recortar(partes, n));
+        }
+
+        private Expresion conjuncion() {
+            Expresion primero = unario();
+            Expresion[] partes = new Expresion[4];
+            int n = 0;
+            partes[n++] = primero;
+            while (!fin() && !es("OR") && !es(")")) {
+                if (es("AND")) pos++;
+                if (n == partes.length) partes = ampliar(partes);
+                partes[n++] = unario();
+            }
+            return n == 1 ? primero : new Conjuncion(recortar(partes, n));
+        }
+
+        private Expresion unario() {
+            if (fin()) throw new IllegalArgumentException("Consulta incompleta.");
+            if (es("NOT")) {
+                pos++;
+                return new Negacion(unario());
+            }
+            if (es("(")) {
+                pos++;
+                Expresion interna = expresion();
+                if (!es(")")) throw new IllegalArgumentException("Falta cerrar parentesis.");
+                pos++;
+                return interna;
+            }
+            return termino(tokens[pos++]);
+        }
+
+        /**
+         * Lee un termino {@code campo:valor}. El valor puede ocupar varias palabras
+         * hasta el siguiente operador, parentesis o campo.
+         */
+        private Expresion termino(String campo) {
+            String nombre = campo.toLowerCase();
+            if (!nombre.endsWith(":")) {
+                throw new IllegalArgumentException("Se esperaba autor: o palabra: y se encontro '" + campo + "'.");
+            }
+            StringBuilder valor = new StringBuilder();
+            while (!fin() && !es("AND") && !es("OR") && !es("NOT") && !es("(") && !es(")")
+                    && !tokens[pos].endsWith(":")) {
+                String t = tokens[pos++];
+                if (t.startsWith("\"")) t = t.substring(1);
+                if (valor.length() > 0) valor.append(' ');
+                valor.append(t);
+            }
+            if (valor.length() == 0) throw new IllegalArgumentException("Falta el valor de '" + campo + "'.");
+
+            switch (nombre) {
+                case "autor:":
+                    return new Termino(autores.obtenerDocumentos(Controlador.claveAutor(valor.toString())));
+                case "palabra:":
+                    return new Termino(palabras.obtenerDocumentos(Controlador.clavePalabra(valor.toString())));
+                default:
+                    throw new IllegalArgumentException("Campo desconocido: " + campo);
+            }
+        }
+
+        private Expresion[] ampliar(Expresion[] partes) {
+            Expresion[] nuevas = new Expresion[partes.length * 2];
+            System.arraycopy(partes, 0, nuevas, 0, partes.length);
+            return nuevas;
+        }
+
+        private Expresion[] recortar(Expresion[] partes, int n) {
+            Expresion[] copia = new Expresion[n];
+            System.arraycopy(partes, 0, copia, 0, n);
+            return copia;
+        }
+    }
+}
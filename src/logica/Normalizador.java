@@ -0,0 +1,153 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package logica;
+
+import java.nio.CharBuffer;
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * Normalizador de texto compartido por el analisis y la indexacion.
+ * En una sola pasada por caracter: pasa a minusculas (sin depender del idioma del
+ * sistema), quita los acentos y dieresis conservando la ñ, convierte los signos de
+ * puntuacion en espacios y junta los espacios seguidos en uno, sin espacios al inicio
+ * ni al final. Asi "Investigación:" e "investigacion" quedan iguales.
+ *
+ * <p>El resultado se escribe en un buffer que se reutiliza entre llamadas, por lo que
+ * una instancia no debe compartirse entre hilos.</p>
+ *
+ * @author COMPUGAMER
+ */
+public final class Normalizador {
+
+    /** Marca de la tabla para caracteres que se convierten en espacio. */
+    private static final char ESPACIO = ' ';
+    /** Tilde combinante: junto a una n forma la ñ. */
+    private static final char TILDE_COMBINANTE = '\u0303';
+
+    /** Caracter normalizado de cada caracter Latin-1 y Latin extendido (hasta U+024F). */
+    private static final char[] TABLA = new char[0x250];
+
+    static {
+        for (char c = 0; c < TABLA.length; c++) {
+            TABLA[c] = convertir(c);
+        }
+    }
+
+    private char[] buffer = new char[256];
+    private int longitud;
+
+    // --- Metodos publicos ---
+
+    /**
+     * Normaliza un texto y devuelve el resultado como cadena nueva.
+     * @param texto Texto original (null se trata como vacio).
+     * @return Texto normalizado.
+     */
+    public String normalizar(CharSequence texto) {
+        normalizarEnBuffer(texto);
+        return new String(buffer, 0, longitud);
+    }
+
+    /**
+     * Normaliza un texto en el buffer interno, sin crear cadenas.
+     * @param texto Texto original (null se trata como vacio).
+     * @return Vista del resultado; es valida hasta la siguiente llamada a este normalizador.
+     */
+    public CharSequence normalizarEnBuffer(CharSequence texto) {
+        longitud = 0;
+        if (texto == null) return CharBuffer.wrap(buffer, 0, 0);
+        int n = texto.length();
+        if (buffer.length < n) buffer = new char[Math.max(n, buffer.length * 2)];
+
+        // Se empieza como si hubiera un espacio para no dejar espacios al inicio
+        boolean espacioPrevio = true;
+        for (int i = 0; i < n; i++) {
+            char c = texto.charAt(i);
+            char r;
+            if (c < TABLA.length) {
+                r = TABLA[c];
+            } else if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                // Acento suelto (texto ya descompuesto): se descarta, salvo la tilde de la ñ
+                if (c == TILDE_COMBINANTE && longitud > 0 && buffer[longitud - 1] == 'n') {
+                    buffer[longitud - 1] = 'ñ';
+                }
+                continue;
+            } else {
+                r = convertir(c);
+            }
+
+            if (r == ESPACIO) {
+                if (!espacioPrevio) {
+                    buffer[longitud++] = ESPACIO;
+                    espacioPrevio = true;
+                }
+            } else {
+                buffer[longitud++] = r;
+                espacioPrevio = false;
+            }
+        }
+        if (longitud > 0 && buffer[longitud - 1] == ESPACIO) longitud--;
+        return CharBuffer.wrap(buffer, 0, longitud);
+    }
+
+    /**
+     * Normaliza un texto y lo separa en terminos: secuencias de letras y digitos.
+     * @param texto Texto original.
+     * @return Terminos normalizados en orden de aparicion.
+     */
+    public String[] terminos(CharSequence texto) {
+        normalizarEnBuffer(texto);
+        String[] terminos = new String[16];
+        int cantidad = 0;
+        int i = 0;
+        while (i < longitud) {
+            while (i < longitud && !Character.isLetterOrDigit(buffer[i])) i++;
+            int inicio = i;
+            while (i < longitud && Character.isLetterOrDigit(buffer[i])) i++;
+            if (i > inicio) {
+                if (cantidad == terminos.length) terminos = Arrays.copyOf(terminos, cantidad * 2);
+                terminos[cantidad++] = new String(buffer, inicio, i - inicio);
+            }
+        }
+        return Arrays.copyOf(terminos, cantidad);
+    }
+
+    // --- Metodos privados ---
+
+    /**
+     * Normaliza un caracter suelto. Se usa para llenar la tabla y para los caracteres
+     * que quedan fuera de ella.
+     * @param c Caracter original.
+     * @return Caracter normalizado, o ESPACIO si es puntuacion o espacio.
+     */
+    private static char convertir(char c) {
+        if (Character.isWhitespace(c) || Character.isSpaceChar(c) || Character.isISOControl(c)) return ESPACIO;
+        switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return ESPACIO;
+            default:
+                break;
+        }
+        char minuscula = Character.toLowerCase(c);
+        if (minuscula == 'ñ') return 'ñ';
+
+        // La descomposicion canonica separa la letra base de sus acentos
+        String descompuesto = Normalizer.normalize(String.valueOf(minuscula), Normalizer.Form.NFD);
+        if (descompuesto.length() > 1) {
+            for (int i = 1; i < descompuesto.length(); i++) {
+                if (Character.getType(descompuesto.charAt(i)) != Character.NON_SPACING_MARK) return minuscula;
+            }
+            return descompuesto.charAt(0);
+        }
+        return minuscula;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package logica;
+
+import estructuras.ArbolAVLPersistente;
+import estructuras.ClaveColacion;
+import estructuras.IndicePosicional;
+import estructuras.ListaPosicional;
+import estructuras.ListaPostings;
+import estructuras.MonticuloTopK;
+import java.util.Arrays;
+
+/**
+ * Busqueda ordenada por relevancia con BM25.
+ * Cada termino de la consulta suma, en cada documento donde aparece, un puntaje que
+ * crece con su frecuencia en el cuerpo (con saturacion) y con lo raro que es en el
+ * corpus, normalizado por el largo del documento. Ademas, si la consulta coincide con
+ * una palabra clave del documento se suma su idf con un peso fijo.
+ *
+ * <p>Las estadisticas (cantidad de documentos, largo promedio, frecuencia de documento
+ * de cada termino) salen de los indices, que se mantienen al indexar y al eliminar.
+ * Solo se conservan los k mejores con un {@link MonticuloTopK}, en lugar de ordenar
+ * todos los documentos que coinciden.</p>
+ *
+ * <p>Los acumuladores por id se reutilizan entre consultas y al terminar solo se limpian
+ * los ids tocados, asi el costo depende de las coincidencias y no del tamaño del corpus.
+ * Cada hilo tiene sus propios acumuladores, de modo que varias consultas pueden
+ * correr a la vez sobre la misma instancia.</p>
+ *
+ * @author COMPUGAMER
+ */
+public class RankingBM25 {
+
+    /** Saturacion de la frecuencia del termino. */
+    private static final double K1 = 1.2;
+    /** Cuanto pesa el largo del documento en la normalizacion. */
+    private static final double B = 0.75;
+    /** Peso de una coincidencia en las palabras clave respecto de una del cuerpo. */
+    private static final double PESO_PALABRA_CLAVE = 2.0;
+
+    private final IndicePosicional indiceTexto;
+    private final ArbolAVLPersistente<ClaveColacion> arbolPalabrasClave;
+
+    // Acumuladores del hilo que hace la consulta
+    private final ThreadLocal<Acumuladores> acumuladores = ThreadLocal.withInitial(Acumuladores::new);
+
+    /**
+     * Arreglos de trabajo de un hilo; solo crecen cuando aparecen ids nuevos.
+     */
+    private static final class Acumuladores {
+        // Puntaje acumulado por id; 0 indica que el documento aun no aparecio en la consulta
+        double[] puntajes = new double[0];
+        // Ids con puntaje distinto de 0 en la consulta actual
+        int[] tocados = new int[0];
+    }
+
+    /**
+     * Crea un ranking sobre los indices del controlador.
+     * @param indiceTexto Indice posicional de los cuerpos.
+     * @param arbolPalabrasClave Indice de palabras clave.
+     */
+    public RankingBM25(IndicePosicional indiceTexto, ArbolAVLPersistente<ClaveColacion> arbolPalabrasClave) {
+        this.indiceTexto = indiceTexto;
+        this.arbolPalabrasClave = arbolPalabrasClave;
+    }
+
+    /**
+     * Devuelve los k documentos de mayor puntaje.
+     * @param terminos Terminos de la consulta, ya tokenizados como los cuerpos (sin repetir).
+     * @param palabrasClave Claves a buscar en el indice de palabras clave (sin repetir).
+     * @param capacidad Cota superior de los ids de documento.
+     * @param k Cantidad maxima de resultados.
+     * @return Ids ordenados de mayor a menor puntaje.
+     */
+    public int[] buscar(String[] terminos, ClaveColacion[] palabrasClave, int capacidad, int k) {
+        int n = indiceTexto.documentosIndexados();
+        if (n == 0 || k <= 0) return new int[0];
+        double promedio = Math.max(indiceTexto.longitudPromedio(), 1);
+
+        Acumuladores acumulador = acumuladores.get();
+        if (acumulador.puntajes.length < capacidad) {
+            acumulador.puntajes = Arrays.copyOf(acumulador.puntajes, capacidad);
+            acumulador.tocados = Arrays.copyOf(acumulador.tocados, capacidad);
+        }
+        double[] puntajes = acumulador.puntajes;
+        int[] tocados = acumulador.tocados;
+        int cantidadTocados = 0;
+
+        // 1. Terminos en el cuerpo
+        for (String termino : terminos) {
+            ListaPosicional lista = indiceTexto.lista(termino);
+            if (lista == null || lista.estaVacia()) continue;
+            double idf = idf(n, lista.size());
+            ListaPosicional.Cursor cursor = lista.cursor();
+            while (cursor.siguiente()) {
+                int id = cursor.documento();
+                int tf = cursor.frecuencia();
+                double norma = K1 * (1 - B + B * indiceTexto.longitudDocumento(id) / promedio);
+                if (puntajes[id] == 0) tocados[cantidadTocados++] = id;
+                puntajes[id] += idf * tf * (K1 + 1) / (tf + norma);
+            }
+        }
+
+        // 2. Coincidencias con palabras clave (cada palabra aparece una vez por documento),
+        // todas sobre la misma version del arbol
+        ArbolAVLPersistente.Instantanea<ClaveColacion> version = arbolPalabrasClave.instantanea();
+        for (ClaveColacion clave : palabrasClave) {
+            ListaPostings lista = version.obtenerDocumentos(clave);
+            if (lista.estaVacia()) continue;
+            double aporte = PESO_PALABRA_CLAVE * idf(n, lista.size());
+            ListaPostings.Cursor cursor = lista.cursor();
+            while (cursor.siguiente()) {
+                int id = cursor.actual();
+                if (puntajes[id] == 0) tocados[cantidadTocados++] = id;
+                puntajes[id] += aporte;
+            }
+        }
+
+        // 3. Seleccion de los k mejores en O(coincidencias * log k)
+        MonticuloTopK mejores = new MonticuloTopK(Math.min(k, cantidadTocados));
+        for (int i = 0; i < cantidadTocados; i++) {
+            int id = tocados[i];
+            mejores.ofrecer(id, puntajes[id]);
+            // Se deja el acumulador limpio para la proxima consulta
+            puntajes[id] = 0;
+        }
+        int[] ids = new int[mejores.size()];
+        mejores.extraerOrdenados(ids, null);
+        return ids;
+    }
+
+    /**
+     * Idf de BM25 en la variante que nunca es negativa.
+     * @param n Cantidad de documentos.
+     * @param df Documentos que contienen el termino.
+     * @return Peso del termino.
+     */
+    private static double idf(int n, int df) {
+        return Math.log(1 + (n - df + 0.5) / (df + 0.5));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package logica;
+
+import modelo.Resumen;
+
+/**
+ * Estadisticas de palabras clave sobre toda la coleccion.
+ * Para cada palabra guarda cuantas veces aparece en todos los cuerpos, en cuantos
+ * resumenes aparece y la lista de esos resumenes con la frecuencia en cada uno.
+ * Se obtiene con {@link Analizador#analizarCorpus(Resumen[], String[])}.
+ * @author COMPUGAMER
+ */
+public class ReporteCorpus {
+
+    private final String[] palabras;
+    private final long[] totales;
+    private final Resumen[][] apariciones;
+    private final int[][] frecuencias;
+    private final int totalResumenes;
+
+    /**
+     * Crea el reporte. Lo arma el analizador; los arreglos no se copian.
+     * @param palabras Palabras analizadas.
+     * @param totales Apariciones de cada palabra en todo el corpus.
+     * @param apariciones Resumenes donde aparece cada palabra, en orden de id.
+     * @param frecuencias Frecuencia de cada palabra en cada resumen de su lista.
+     * @param totalResumenes Cantidad de resumenes analizados.
+     */
+    ReporteCorpus(String[] palabras, long[] totales, Resumen[][] apariciones, int[][] frecuencias, int totalResumenes) {
+        this.palabras = palabras;
+        this.totales = totales;
+        this.apariciones = apariciones;
+        this.frecuencias = frecuencias;
+        this.totalResumenes = totalResumenes;
+    }
+
+    /**
+     * @return Cantidad de palabras del reporte.
+     */
+    public int cantidadPalabras() {
+        return palabras.length;
+    }
+
+    /**
+     * @return Cantidad de resumenes analizados.
+     */
+    public int totalResumenes() {
+        return totalResumenes;
+    }
+
+    /**
+     * @param i Indice de la palabra (0 a cantidadPalabras() - 1).
+     * @return La palabra tal como se pidio.
+     */
+    public String palabra(int i) {
+        return palabras[i];
+    }
+
+    /**
+     * @param i Indice de la palabra.
+     * @return Apariciones de la palabra sumando todos los cuerpos.
+     */
+    public long frecuenciaGlobal(int i) {
+        return totales[i];
+    }
+
+    /**
+     * @param i Indice de la palabra.
+     * @return Cantidad de resumenes en cuyo cuerpo aparece la palabra.
+     */
+    public int frecuenciaDocumentos(int i) {
+        return apariciones[i].length;
+    }
+
+    /**
+     * @param i Indice de la palabra.
+     * @param j Posicion en la lista de resumenes de la palabra.
+     * @return El j-esimo resumen donde aparece la palabra.
+     */
+    public Resumen aparicion(int i, int j) {
+        return apariciones[i][j];
+    }
+
+    /**
+     * @param i Indice de la palabra.
+     * @param j Posicion en la lista de resumenes de la palabra.
+     * @return Frecuencia de la palabra en ese resumen.
+     */
+    public int frecuenciaEnAparicion(int i, int j) {
+        return frecuencias[i][j];
+    }
+}
@@ -4,13 +4,23 @@
  */
 package logica;
 
+import estructuras.DiccionarioTerminos;
+import estructuras.IndicePosicional;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import modelo.Resumen;
 
 /**
@@ -23,6 +33,30 @@ public class Repositorio {
 
     private static final String ARCHIVO_DB = "base_datos_resumenes.txt";
     private static final String SEPARADOR = "##"; 
+    
+    // Indice posicional de los cuerpos, guardado junto a la base de datos
+    private static final String ARCHIVO_INDICE = "base_datos_resumenes.idx";
+    private static final int MAGIA_INDICE = 0x49504F53; // "IPOS"
+    // Version 2: terminos con el Normalizador (sin acentos); los indices anteriores se reconstruyen
+    private static final int VERSION_INDICE = 2;
+    
+    // Autores y palabras clave se guardan como instancias canonicas compartidas
+    private final DiccionarioTerminos diccionario;
+
+    /**
+     * Crea un repositorio con su propio diccionario de terminos.
+     */
+    public Repositorio() {
+        this(new DiccionarioTerminos());
+    }
+
+    /**
+     * Crea un repositorio que comparte el diccionario de terminos indicado.
+     * @param diccionario Diccionario donde se registran autores y palabras clave.
+     */
+    public Repositorio(DiccionarioTerminos diccionario) {
+        this.diccionario = diccionario;
+    }
 
     /**
      * Guarda un nuevo resumen al final del archivo de base de datos.
@@ -34,26 +68,7 @@ public class Repositorio {
 
         // Usa FileWriter con 'true' para hacer append
         try (PrintWriter escritor = new PrintWriter(new BufferedWriter(new FileWriter(ARCHIVO_DB, true)))) {
-            
-            // 1. Preparar datos
-            // Reemplaza saltos de linea del cuerpo por espacios para que ocupe una sola linea
-            String cuerpoLimpio = resumen.getCuerpo().replace("\n", " ").replace("\r", " ");
-            
-            // Unir autores con punto y coma
-            String autoresUnidos = String.join(";", resumen.getAutores());
-            
-            // Unir palabras clave con punto y coma
-            String palabrasUnidas = String.join(";", resumen.getPalabrasClaves());
-
-            // 2. Construir la linea: Titulo ## Autores ## Palabras ## Cuerpo
-            StringBuilder linea = new StringBuilder();
-            linea.append(resumen.getTitulo()).append(SEPARADOR);
-            linea.append(autoresUnidos).append(SEPARADOR);
-            linea.append(palabrasUnidas).append(SEPARADOR);
-            linea.append(cuerpoLimpio);
-
-            // 3. Escribir en el archivo
-            escritor.println(linea.toString());
+            escritor.println(formatearLinea(resumen));
             return true;
 
         } catch (IOException e) {
@@ -62,6 +77,60 @@ public class Repositorio {
         }
     }
 
+    /**
+     * Reescribe la base de datos completa con los resumenes indicados.
+     * Se usa al eliminar o actualizar un resumen, ya que el archivo es de lineas y no
+     * admite borrar una en su lugar. Se escribe primero un archivo temporal y luego se
+     * reemplaza el original, asi un error a mitad de camino no deja la base incompleta.
+     * @param resumenes Resumenes vigentes (los null se omiten).
+     * @return true si se guardo correctamente, false si hubo error.
+     */
+    public boolean reescribir(Resumen[] resumenes) {
+        File temporal = new File(ARCHIVO_DB + ".tmp");
+        try (PrintWriter escritor = new PrintWriter(new BufferedWriter(new FileWriter(temporal)))) {
+            for (Resumen resumen : resumenes) {
+                if (resumen != null) escritor.println(formatearLinea(resumen));
+            }
+            if (escritor.checkError()) throw new IOException("no se pudo escribir " + temporal);
+        } catch (IOException e) {
+            System.err.println("Error al guardar en disco: " + e.getMessage());
+            temporal.delete();
+            return false;
+        }
+        try {
+            Files.move(temporal.toPath(), new File(ARCHIVO_DB).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error al guardar en disco: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Convierte un resumen en su linea del archivo: Titulo ## Autores ## Palabras ## Cuerpo.
+     * @param resumen Resumen a convertir.
+     * @return Linea lista para escribir.
+     */
+    private String formatearLinea(Resumen resumen) {
+        // 1. Preparar datos
+        // Reemplaza saltos de linea del cuerpo por espacios para que ocupe una sola linea
+        String cuerpoLimpio = resumen.getCuerpo().replace("\n", " ").replace("\r", " ");
+        
+        // Unir autores con punto y coma
+        String autoresUnidos = String.join(";", resumen.getAutores());
+        
+        // Unir palabras clave con punto y coma
+        String palabrasUnidas = String.join(";", resumen.getPalabrasClaves());
+
+        // 2. Construir la linea
+        StringBuilder linea = new StringBuilder();
+        linea.append(resumen.getTitulo()).append(SEPARADOR);
+        linea.append(autoresUnidos).append(SEPARADOR);
+        linea.append(palabrasUnidas).append(SEPARADOR);
+        linea.append(cuerpoLimpio);
+        return linea.toString();
+    }
+
     /**
      * Carga todos los resumenes existentes en el archivo de base de datos.
      * @return Un arreglo de objetos Resumen.
@@ -88,9 +157,9 @@ public class Repositorio {
                 if (partes.length >= 4) {
                     String titulo = partes[0].trim();
                     
-                    String[] autores = partes[1].split(";");
+                    String[] autores = canonicos(partes[1].split(";"));
                     
-                    String[] palabras = partes[2].split(";");
+                    String[] palabras = canonicos(partes[2].split(";"));
                     
                     String cuerpo = partes[3].trim();
                     
@@ -106,6 +175,71 @@ public class Repositorio {
         return lista;
     }
 
+    /**
+     * Guarda el indice posicional de los cuerpos junto a la base de datos.
+     * La cabecera registra el largo y la fecha de modificacion del archivo de resumenes
+     * y la cantidad de documentos; al cargar, si no coinciden, el indice se descarta.
+     * Debe llamarse despues de escribir la base de datos.
+     * @param indice Indice a guardar.
+     * @param nuevoId Id en disco (orden de linea) de cada id en memoria, o -1 si el documento ya no existe.
+     * @return true si se guardo correctamente, false si hubo error.
+     */
+    public boolean guardarIndice(IndicePosicional indice, int[] nuevoId) {
+        File base = new File(ARCHIVO_DB);
+        File temporal = new File(ARCHIVO_INDICE + ".tmp");
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporal)))) {
+            salida.writeInt(MAGIA_INDICE);
+            salida.writeInt(VERSION_INDICE);
+            salida.writeLong(base.length());
+            salida.writeLong(base.lastModified());
+            indice.guardar(salida, nuevoId);
+        } catch (IOException e) {
+            System.err.println("Error al guardar el indice: " + e.getMessage());
+            temporal.delete();
+            return false;
+        }
+        try {
+            Files.move(temporal.toPath(), new File(ARCHIVO_INDICE).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error al guardar el indice: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Carga el indice posicional si corresponde a la base de datos actual.
+     * @param documentos Cantidad de resumenes cargados de la base de datos.
+     * @return El indice, o null si no existe, esta dañado o es de otra version de la base.
+     */
+    public IndicePosicional cargarIndice(int documentos) {
+        File archivo = new File(ARCHIVO_INDICE);
+        File base = new File(ARCHIVO_DB);
+        if (!archivo.exists() || !base.exists()) return null;
+
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(new FileInputStream(archivo)))) {
+            if (entrada.readInt() != MAGIA_INDICE || entrada.readInt() != VERSION_INDICE) return null;
+            if (entrada.readLong() != base.length() || entrada.readLong() != base.lastModified()) return null;
+            IndicePosicional indice = IndicePosicional.cargar(entrada);
+            return indice.documentosIndexados() == documentos ? indice : null;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Indice descartado, se reconstruira: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reemplaza cada termino por su instancia canonica del diccionario.
+     * @param terminos Arreglo recien separado de la linea.
+     * @return El mismo arreglo, con instancias compartidas.
+     */
+    private String[] canonicos(String[] terminos) {
+        for (int i = 0; i < terminos.length; i++) {
+            terminos[i] = diccionario.canonico(terminos[i]);
+        }
+        return terminos;
+    }
+
     /**
      * Metodo auxiliar para saber de que tamano crear el arreglo.
      * @return Numero de lineas validas en el archivo.
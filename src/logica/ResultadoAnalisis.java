@@ -0,0 +1,72 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package logica;
+
+/**
+ * Resultado del analisis de frecuencias de un resumen: titulo, autores y la
+ * frecuencia de cada palabra clave en el cuerpo.
+ * Los datos quedan tipados; darles formato de texto es tarea de la interfaz.
+ * Se obtiene con {@link Analizador#analizar(modelo.Resumen)} o
+ * {@link Controlador#analizarResumen(modelo.Resumen)}.
+ * @author COMPUGAMER
+ */
+public class ResultadoAnalisis {
+
+    private final String titulo;
+    private final String[] autores;
+    private final String[] palabras;
+    private final int[] frecuencias;
+
+    /**
+     * Crea el resultado. Lo arma el analizador; los arreglos no se copian.
+     * @param titulo Titulo del resumen.
+     * @param autores Autores del resumen.
+     * @param palabras Palabras clave, en el orden del resumen.
+     * @param frecuencias Frecuencia de cada palabra clave en el cuerpo.
+     */
+    ResultadoAnalisis(String titulo, String[] autores, String[] palabras, int[] frecuencias) {
+        this.titulo = titulo;
+        this.autores = autores;
+        this.palabras = palabras;
+        this.frecuencias = frecuencias;
+    }
+
+    /**
+     * @return Titulo del resumen analizado.
+     */
+    public String getTitulo() {
+        return titulo;
+    }
+
+    /**
+     * @return Autores del resumen analizado.
+     */
+    public String[] getAutores() {
+        return autores;
+    }
+
+    /**
+     * @return Cantidad de palabras clave analizadas.
+     */
+    public int cantidadPalabras() {
+        return palabras.length;
+    }
+
+    /**
+     * @param i Indice de la palabra (0 a cantidadPalabras() - 1).
+     * @return La palabra clave tal como esta en el resumen.
+     */
+    public String palabra(int i) {
+        return palabras[i];
+    }
+
+    /**
+     * @param i Indice de la palabra.
+     * @return Apariciones de la palabra en el cuerpo.
+     */
+    public int frecuencia(int i) {
+        return frecuencias[i];
+    }
+}
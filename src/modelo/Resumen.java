@@ -16,6 +16,7 @@ public class Resumen {
     private String[] autores;      
     private String cuerpo;
     private String[] palabrasClaves;
+    private int id = -1;
 
     /**
      * Constructor principal de la clase Resumen.
@@ -67,6 +68,24 @@ public class Resumen {
         return palabrasClaves;
     }
 
+    /**
+     * Obtiene el identificador numerico denso asignado al indexar el resumen.
+     * Los arboles AVL guardan este id en lugar del titulo.
+     * @return El id del documento, o -1 si aun no se ha indexado.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Asigna el identificador numerico del resumen.
+     * Solo lo debe llamar el Controlador al indexar.
+     * @param id El id del documento (posicion en el arreglo de documentos).
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
    // METODOS
 
     /**